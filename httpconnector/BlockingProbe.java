@@ -0,0 +1,97 @@
+package httpconnector;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 블로킹 프로브 1회 (pool/virtual 모드) — TCP 연결 1회, 그 위에서 TLS 핸드셰이크
+ * - 블로킹 SocketChannel의 소켓 어댑터 사용: 타임아웃 connect/read는 Socket과 같고, 채널을 닫으면 대기 중인 스레드가 바로 깨어남
+ * - cancel(): 채널을 닫아 connect/핸드셰이크 대기를 즉시 끝냄 → CANCELLED (타임아웃까지 기다리지 않음)
+ *   채널이 InterruptibleChannel이라 실행 스레드 인터럽트(shutdownNow 등)도 같은 효과
+ * - 결과는 NIO 경로와 같은 ProbeOutcome, rtt가 있으면 서브넷별 학습 타임아웃 사용 + 표본 보고
+ */
+final class BlockingProbe implements NioConnectEngine.Handle {
+    private final int ip, port;
+    private final SocketChannel channel;
+    private volatile boolean cancelled;
+
+    BlockingProbe(int ip, int port) throws IOException {
+        this.ip = ip;
+        this.port = port;
+        this.channel = SocketChannel.open();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        closeQuietly(channel);
+    }
+
+    /** 프로브 실행 (채널은 항상 닫음). tls=false: 연결만 확인하고 OPEN (제조사로 이미 카메라인 호스트) */
+    ProbeOutcome run(RttEstimator rtt, boolean tls) {
+        int connectMs = rtt == null ? ScanEngine.TCP_CONNECT_TIMEOUT_MS : rtt.connectTimeoutMs(ip);
+        int handshakeMs = rtt == null ? ScanEngine.HTTPS_CONNECT_TIMEOUT_MS : rtt.handshakeTimeoutMs(ip);
+        Socket socket = channel.socket();
+        ProbeEvent jfr = ProbeEvent.begin(ip, port, ProbeEvent.CONNECT);
+        long start = System.nanoTime();
+        try {
+            socket.connect(new InetSocketAddress(Ipv4.toInetAddress(ip), port), connectMs);
+        } catch (ConnectException refused) {
+            if (rtt != null && !aborted()) rtt.connectSample(ip, System.nanoTime() - start); // RST 응답도 왕복 시간 표본
+            return finish(jfr, ProbeOutcome.CLOSED);
+        } catch (SocketTimeoutException e) {
+            return finish(jfr, ProbeOutcome.TIMEOUT);
+        } catch (IOException | RuntimeException e) {
+            return finish(jfr, ProbeOutcome.CLOSED);
+        }
+        if (rtt != null) rtt.connectSample(ip, System.nanoTime() - start);
+        ProbeEvent.end(jfr, ProbeOutcome.OPEN);
+        if (!tls) return finish(null, ProbeOutcome.OPEN);
+        jfr = ProbeEvent.begin(ip, port, ProbeEvent.TLS);
+        start = System.nanoTime();
+        ProbeOutcome outcome = handshake(socket, handshakeMs);
+        if (rtt != null && outcome.isTlsVerdict() && !aborted()) rtt.handshakeSample(ip, System.nanoTime() - start);
+        return finish(jfr, outcome);
+    }
+
+    // 연결된 소켓 위에서 TLS 핸드셰이크 (HttpsURLConnection과 같은 호스트명 검증)
+    private ProbeOutcome handshake(Socket socket, int timeoutMs) {
+        try (SSLSocket ssl = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault()).createSocket(socket, Ipv4.format(ip), port, true)) {
+            ssl.setSoTimeout(timeoutMs);
+            SSLParameters params = ssl.getSSLParameters();
+            params.setEndpointIdentificationAlgorithm("HTTPS");
+            ssl.setSSLParameters(params);
+            ssl.startHandshake();
+            return ProbeOutcome.TRUSTED;
+        } catch (SSLException ssl) {
+            return ProbeOutcome.classify(ssl);
+        } catch (SocketTimeoutException e) {
+            return ProbeOutcome.HANDSHAKE_TIMEOUT;
+        } catch (IOException | RuntimeException e) {
+            return ProbeOutcome.RESET;
+        }
+    }
+
+    // 취소(채널 닫기/인터럽트)로 끝난 단계는 실패 종류와 관계없이 CANCELLED
+    private ProbeOutcome finish(ProbeEvent jfr, ProbeOutcome outcome) {
+        if (aborted()) outcome = ProbeOutcome.CANCELLED;
+        closeQuietly(channel);
+        ProbeEvent.end(jfr, outcome);
+        return outcome;
+    }
+
+    private boolean aborted() { return cancelled || Thread.currentThread().isInterrupted(); }
+
+    private static void closeQuietly(Closeable c) {
+        try { c.close(); } catch (IOException ignore) { /* ignore */ }
+    }
+}
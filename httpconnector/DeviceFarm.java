@@ -0,0 +1,321 @@
+package httpconnector;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 루프백 장비 시뮬레이터 (부하 테스트용) — Linux에서는 127.0.0.0/8 전체가 루프백이라 주소마다 다른 장비를 흉내 낼 수 있음
+ * - 대역의 주소마다 프로필을 배정하고 그 주소:포트에 리스너를 바인드 (CLOSED는 바인드하지 않음 → RST)
+ *   · CAMERA    : 자체 서명 인증서 TLS → 카메라로 판정돼야 함
+ *   · TRUSTED   : 신뢰 저장소의 인증서(SAN에 장비 IP) TLS → 카메라 아님
+ *   · HTTP      : 평문 HTTP 응답 → NOT_TLS
+ *   · CLOSED    : 포트 닫힘
+ *   · SLOW      : slowMs 뒤에 핸드셰이크하는 카메라 → 타임아웃 안이면 카메라
+ *   · BLACKHOLE : 연결만 받고 응답 없음 → 핸드셰이크 타임아웃 (루프백은 SYN 무응답을 만들 수 없어 이 방식으로 대신)
+ * - 비율은 "camera=60,trusted=5,..." 형식 (Mix.parse), 배정은 seed로 결정적
+ * - accept는 selector 스레드 1개, TLS/HTTP 응답은 작업 스레드 풀에서 (인증서는 keytool로 임시 디렉터리에 생성, EC P-256)
+ * - 스캐너가 TRUSTED를 신뢰하게 하려면 clientContext()를 SSLContext.setDefault로 지정 (또는 main이 출력하는 trustStore 옵션)
+ * - 사용: java httpconnector.DeviceFarm [대역=127.77.0.0/22] [-p 18443] [-mix camera=60,...] [-slow 300]
+ */
+final class DeviceFarm implements Closeable {
+    enum Profile { CAMERA, TRUSTED, HTTP, CLOSED, SLOW, BLACKHOLE }
+
+    static final String DEFAULT_MIX = "camera=60,trusted=5,http=10,closed=15,slow=5,blackhole=5";
+    static final int WORKERS = 16;
+    static final long BLACKHOLE_HOLD_MS = 60_000;
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    /** 프로필별 비중 */
+    static final class Mix {
+        final int[] weights = new int[Profile.values().length];
+
+        static Mix parse(String spec) {
+            Mix mix = new Mix();
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                if (kv.length != 2) throw new IllegalArgumentException("비율 형식: camera=60,closed=15 … (" + part + ")");
+                int w = Integer.parseInt(kv[1].trim());
+                if (w < 0) throw new IllegalArgumentException("비율은 0 이상: " + part);
+                mix.weights[Profile.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)).ordinal()] = w;
+            }
+            if (Arrays.stream(mix.weights).sum() == 0) throw new IllegalArgumentException("비율 합이 0");
+            return mix;
+        }
+
+        Profile pick(SplittableRandom random) {
+            int r = random.nextInt(Arrays.stream(weights).sum());
+            for (Profile p : Profile.values()) if ((r -= weights[p.ordinal()]) < 0) return p;
+            throw new AssertionError();
+        }
+    }
+
+    final int port;
+    final long slowMs;
+    private final Map<Integer, Profile> profiles = new HashMap<>();
+    private final EnumMap<Profile, Integer> counts = new EnumMap<>(Profile.class);
+    private final Path dir;
+    private final SSLContext cameraTls, trustedTls, clientTls;
+    private final Selector selector;
+    private final List<ServerSocketChannel> listeners = new ArrayList<>();
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKERS, daemon("farm-worker"));
+    private final ScheduledExecutorService timers = Executors.newSingleThreadScheduledExecutor(daemon("farm-timer"));
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    DeviceFarm(TargetRange range, Mix mix, int port, long slowMs, long seed) throws IOException {
+        this.port = port;
+        this.slowMs = slowMs;
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> trustedIps = new ArrayList<>();
+        for (PrimitiveIterator.OfInt it = range.iterator(); it.hasNext(); ) {
+            int ip = it.nextInt();
+            Profile p = mix.pick(random);
+            profiles.put(ip, p);
+            counts.merge(p, 1, Integer::sum);
+            if (p == Profile.TRUSTED) trustedIps.add(Ipv4.format(ip));
+        }
+        this.dir = Files.createTempDirectory("device-farm");
+        try {
+            Path camera = keytool("camera.p12", "CN=IP Camera", null);
+            Path trusted = keytool("trusted.p12", "CN=Trusted Device", trustedIps);
+            this.cameraTls = serverContext(camera);
+            this.trustedTls = serverContext(trusted);
+            this.clientTls = clientContext(trusted);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("TLS 설정 실패", e);
+        }
+        this.selector = Selector.open();
+        try {
+            for (Map.Entry<Integer, Profile> e : profiles.entrySet()) {
+                if (e.getValue() == Profile.CLOSED) continue;
+                ServerSocketChannel ch = ServerSocketChannel.open();
+                listeners.add(ch);
+                ch.bind(new InetSocketAddress(Ipv4.toInetAddress(e.getKey()), port), 128);
+                ch.configureBlocking(false);
+                ch.register(selector, SelectionKey.OP_ACCEPT, e.getValue());
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        this.acceptor = new Thread(this::acceptLoop, "farm-accept");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    /** 정답: 이 주소의 장비 종류 (대역 밖이면 null) */
+    Profile profileOf(int ip) { return profiles.get(ip); }
+
+    /** 카메라로 판정돼야 하는 장비인지 */
+    static boolean isCamera(Profile p) { return p == Profile.CAMERA || p == Profile.SLOW; }
+
+    int count(Profile p) { return counts.getOrDefault(p, 0); }
+
+    int size() { return profiles.size(); }
+
+    /** TRUSTED 장비의 인증서만 신뢰하는 클라이언트 컨텍스트 */
+    SSLContext clientContext() { return clientTls; }
+
+    /** main에서 UI/CLI에 넘길 신뢰 저장소 파일 */
+    Path trustStore() { return dir.resolve("trusted.p12"); }
+
+    /** "1022 devices (camera 613, trusted 51, …) on :18443" */
+    String summary() {
+        StringJoiner sj = new StringJoiner(", ");
+        for (Profile p : Profile.values()) sj.add(p.name().toLowerCase(Locale.ROOT) + " " + count(p));
+        return size() + " devices (" + sj + ") on :" + port;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try { selector.close(); } catch (IOException ignore) { /* ignore */ }
+        for (ServerSocketChannel ch : listeners) closeQuietly(ch);
+        workers.shutdownNow();
+        timers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (!closed) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    SocketChannel ch = ((ServerSocketChannel) key.channel()).accept();
+                    if (ch != null) serve(ch.socket(), (Profile) key.attachment());
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!closed) System.err.println("Device farm accept loop stopped: " + e);
+        }
+    }
+
+    private void serve(Socket s, Profile profile) {
+        switch (profile) {
+            case CAMERA: workers.execute(() -> tls(s, cameraTls)); break;
+            case TRUSTED: workers.execute(() -> tls(s, trustedTls)); break;
+            case SLOW: timers.schedule(() -> workers.execute(() -> tls(s, cameraTls)), slowMs, TimeUnit.MILLISECONDS); break;
+            case HTTP: workers.execute(() -> http(s)); break;
+            default: timers.schedule(() -> closeQuietly(s), BLACKHOLE_HOLD_MS, TimeUnit.MILLISECONDS); break; // BLACKHOLE
+        }
+    }
+
+    // 서버 쪽 핸드셰이크 (스캐너가 인증서를 거부하면 실패로 끝남 — 정상)
+    private static void tls(Socket raw, SSLContext ctx) {
+        try (Socket s = raw;
+             SSLSocket ssl = (SSLSocket) ctx.getSocketFactory().createSocket(s, null, s.getPort(), true)) {
+            ssl.setUseClientMode(false);
+            ssl.setSoTimeout(5000);
+            ssl.startHandshake();
+        } catch (IOException | RuntimeException ignore) {
+            // 스캐너가 끊음
+        }
+    }
+
+    // ClientHello가 오면 평문 HTTP 응답 (웹 관리 화면만 있는 장비)
+    private static void http(Socket raw) {
+        try (Socket s = raw) {
+            s.setSoTimeout(5000);
+            InputStream in = s.getInputStream();
+            if (in.read() < 0) return;
+            OutputStream out = s.getOutputStream();
+            out.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        } catch (IOException ignore) {
+            // 스캐너가 끊음
+        }
+    }
+
+    // JDK keytool로 EC 키 + 자체 서명 인증서 생성 (ipSans가 있으면 SAN에 IP 목록)
+    private Path keytool(String file, String dname, List<String> ipSans) throws IOException {
+        Path out = dir.resolve(file);
+        List<String> cmd = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "keytool").toString(), "-genkeypair",
+                "-keystore", out.toString(), "-storetype", "PKCS12", "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD),
+                "-alias", "device", "-keyalg", "EC", "-groupname", "secp256r1", "-dname", dname, "-validity", "30"));
+        if (ipSans != null && !ipSans.isEmpty()) { cmd.add("-ext"); cmd.add("SAN=ip:" + String.join(",ip:", ipSans)); }
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String log = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            if (p.waitFor() != 0) throw new IOException("keytool 실패: " + log.trim());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("keytool 중단", e);
+        }
+        return out;
+    }
+
+    private static SSLContext serverContext(Path keystore) throws IOException, GeneralSecurityException {
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(load(keystore), PASSWORD);
+        SSLContext ctx = SSLContext.getInstance("TLS");
+        ctx.init(kmf.getKeyManagers(), null, null);
+        return ctx;
+    }
+
+    private static SSLContext clientContext(Path trusted) throws IOException, GeneralSecurityException {
+        KeyStore trust = KeyStore.getInstance("PKCS12");
+        trust.load(null, null);
+        trust.setCertificateEntry("trusted-device", load(trusted).getCertificate("device"));
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trust);
+        SSLContext ctx = SSLContext.getInstance("TLS");
+        ctx.init(null, tmf.getTrustManagers(), null);
+        return ctx;
+    }
+
+    private static KeyStore load(Path file) throws IOException, GeneralSecurityException {
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) { ks.load(in, PASSWORD); }
+        return ks;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static void closeQuietly(Closeable c) {
+        try { c.close(); } catch (IOException ignore) { /* ignore */ }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options o = Options.parse(args);
+        if (o == null) return;
+        try (DeviceFarm farm = new DeviceFarm(RangeParser.parse(o.range), Mix.parse(o.mix), o.port, o.slowMs, o.seed)) {
+            System.err.println("Device farm: " + farm.summary());
+            System.err.println("대역 " + o.range + ", 포트 " + o.port + " 로 검색 (TRUSTED를 신뢰하려면 -Djavax.net.ssl.trustStore="
+                    + farm.trustStore() + " -Djavax.net.ssl.trustStorePassword=" + new String(PASSWORD) + ")");
+            Thread.sleep(Long.MAX_VALUE);
+        }
+    }
+
+    /** main/FarmBenchmark 공통 인자: [대역] [-p 포트] [-mix 비율] [-slow ms] [-seed n] */
+    static final class Options {
+        String range = "127.77.0.0/22", mix = DEFAULT_MIX;
+        int port = 18443;
+        long slowMs = 300, seed = 42;
+        long cancelMs; // FarmBenchmark: 시작 후 이 시간(ms)에 취소하고 정지까지 걸린 시간 측정 (0 = 끝까지)
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            try {
+                for (int i = 0; i < args.length; i++) {
+                    switch (args[i]) {
+                        case "-p": o.port = Integer.parseInt(args[++i]); break;
+                        case "-mix": o.mix = args[++i]; break;
+                        case "-slow": o.slowMs = Long.parseLong(args[++i]); break;
+                        case "-seed": o.seed = Long.parseLong(args[++i]); break;
+                        case "-cancel": o.cancelMs = Long.parseLong(args[++i]); break;
+                        default:
+                            if (args[i].startsWith("-")) throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+                            o.range = args[i];
+                    }
+                }
+                Mix.parse(o.mix);
+                return o;
+            } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+                System.err.println(e.getMessage() == null ? "인자 오류" : e.getMessage());
+                System.err.println("인자: [대역=127.77.0.0/22] [-p 18443] [-mix " + DEFAULT_MIX + "] [-slow 300] [-seed 42] [-cancel ms]");
+                System.exit(2);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package httpconnector;
+
+import javax.net.ssl.SSLContext;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장비 시뮬레이터(DeviceFarm)를 상대로 한 종단 간 스캔 측정
+ * - UI의 ScanWorker와 같은 경로: ScanEngine.scan() 구독 → 결과 수신 (실행 방식은 -Dscan.mode)
+ * - 출력: 초당 처리 호스트 수, 호스트별 판정 지연 p50/p90/p99/max, 정답 대비 정확도(정밀도/재현율)와 프로필별 오판 수
+ * - TRUSTED 장비는 시뮬레이터의 인증서만 신뢰하도록 기본 SSLContext를 교체한 뒤 측정
+ * - -cancel ms: 그 시점에 스캔을 취소하고 진행 중이던 프로브가 모두 정지할 때까지 걸린 시간 출력 (정확도는 생략)
+ * - 사용: java httpconnector.FarmBenchmark [대역=127.77.0.0/22] [-p 18443] [-mix camera=60,...] [-slow 300] [-seed 42] [-cancel ms]
+ */
+final class FarmBenchmark {
+    public static void main(String[] args) throws Exception {
+        DeviceFarm.Options o = DeviceFarm.Options.parse(args);
+        if (o == null) return;
+        TargetRange range = RangeParser.parse(o.range);
+        try (DeviceFarm farm = new DeviceFarm(range, DeviceFarm.Mix.parse(o.mix), o.port, o.slowMs, o.seed)) {
+            System.out.println("farm: " + farm.summary());
+            SSLContext.setDefault(farm.clientContext()); // 엔진/블로킹 프로브가 처음 TLS를 쓰기 전에
+
+            Set<Integer> flagged = new HashSet<>();
+            CountDownLatch finished = new CountDownLatch(1);
+            long start = System.nanoTime();
+            ScanEngine.Scan scan;
+            try (ScanEngine engine = new ScanEngine(ScanExecutors.configuredMode(), NeighborTable.system())) {
+                scan = engine.scan(range, new int[] {o.port}, new int[0]);
+                scan.subscribe(new Flow.Subscriber<ScanResult>() {
+                    @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+                    @Override public void onNext(ScanResult r) { if (r.isCamera) flagged.add(r.ip); } // onNext는 한 번에 한 스레드만
+                    @Override public void onError(Throwable t) { t.printStackTrace(); finished.countDown(); }
+                    @Override public void onComplete() { finished.countDown(); }
+                });
+                if (o.cancelMs > 0 && !finished.await(o.cancelMs, TimeUnit.MILLISECONDS)) {
+                    int ports = engine.metrics().getPortsInFlight(), hosts = scan.completedHosts();
+                    scan.cancel();
+                    scan.quiescent().get();
+                    System.out.printf("cancel after %d ms: %d/%d hosts done, %d ports in flight, quiescent in %.2f ms, %d left in flight%n",
+                            o.cancelMs, hosts, scan.total(), ports, scan.cancelToQuiescentNanos() / 1e6, engine.metrics().getPortsInFlight());
+                    return;
+                }
+                finished.await();
+            }
+            long ms = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            LatencyHistogram h = scan.latency();
+            System.out.printf("scan: %d hosts in %d ms, %.1f hosts/s (mode %s)%n",
+                    scan.completedHosts(), ms, scan.completedHosts() * 1000.0 / ms, ScanExecutors.configuredMode().name().toLowerCase(Locale.ROOT));
+            System.out.printf("latency: p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms%n",
+                    h.percentileNanos(50) / 1e6, h.percentileNanos(90) / 1e6, h.percentileNanos(99) / 1e6, h.maxNanos() / 1e6);
+
+            // 정답과 비교: 카메라(CAMERA, SLOW)를 놓친 수, 카메라가 아닌데 카메라로 본 수
+            int tp = 0, fp = 0, fn = 0;
+            EnumMap<DeviceFarm.Profile, Integer> wrong = new EnumMap<>(DeviceFarm.Profile.class);
+            for (PrimitiveIterator.OfInt it = range.iterator(); it.hasNext(); ) {
+                int ip = it.nextInt();
+                DeviceFarm.Profile p = farm.profileOf(ip);
+                boolean expected = DeviceFarm.isCamera(p), got = flagged.contains(ip);
+                if (expected && got) tp++;
+                else if (got) fp++;
+                else if (expected) fn++;
+                if (expected != got) wrong.merge(p, 1, Integer::sum);
+            }
+            System.out.printf("accuracy: tp=%d fp=%d fn=%d precision=%.1f%% recall=%.1f%%%n",
+                    tp, fp, fn, 100.0 * tp / Math.max(1, tp + fp), 100.0 * tp / Math.max(1, tp + fn));
+            if (!wrong.isEmpty()) System.out.println("misclassified by profile: " + wrong);
+        }
+    }
+}
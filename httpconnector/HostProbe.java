@@ -0,0 +1,82 @@
+package httpconnector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 호스트의 여러 포트 동시 프로브 집계
+ * - 포트별 결과를 모으고, 카메라로 판정되는 포트가 나오면 나머지 포트는 취소 (short-circuit)
+ * - 모든 포트가 끝나면(취소 포함) record()가 true → 호스트 1건 완료
+ * - cancel(): 스캔 취소 시 진행 중인 포트를 모두 취소 (NIO 핸들 또는 BlockingProbe — 둘 다 대기 없이 바로 끝남)
+ */
+final class HostProbe {
+    final int ip;
+    final int[] ports;
+    private final ProbeOutcome[] outcomes;
+    private final NioConnectEngine.Handle[] handles;
+    private int pending;
+    private int decisive = -1; // 카메라로 판정된 포트의 인덱스
+    private boolean cancelled;
+
+    HostProbe(int ip, int[] ports) {
+        this.ip = ip;
+        this.ports = ports;
+        this.outcomes = new ProbeOutcome[ports.length];
+        this.handles = new NioConnectEngine.Handle[ports.length];
+        this.pending = ports.length;
+    }
+
+    /** 프로브 핸들 등록 (이미 판정이 끝났거나 취소됐으면 바로 취소) */
+    void attach(int index, NioConnectEngine.Handle handle) {
+        boolean cancel;
+        synchronized (this) {
+            handles[index] = handle;
+            cancel = (decisive >= 0 || cancelled) && outcomes[index] == null;
+        }
+        if (cancel) handle.cancel();
+    }
+
+    synchronized boolean decided() { return decisive >= 0; }
+
+    /** 판정이 끝났거나 취소돼서 남은 포트를 프로브할 필요가 없는지 */
+    synchronized boolean settled() { return decisive >= 0 || cancelled; }
+
+    /** 진행 중인 포트를 모두 취소 (CANCELLED로 통지됨) */
+    void cancel() {
+        NioConnectEngine.Handle[] toCancel;
+        synchronized (this) {
+            if (cancelled) return;
+            cancelled = true;
+            toCancel = handles.clone();
+        }
+        for (NioConnectEngine.Handle h : toCancel) if (h != null) h.cancel();
+    }
+
+    /** 포트 결과 기록. 이 호출로 모든 포트가 끝났으면 true */
+    boolean record(int index, ProbeOutcome outcome) {
+        NioConnectEngine.Handle[] toCancel = null;
+        boolean complete;
+        synchronized (this) {
+            outcomes[index] = outcome;
+            if (outcome.isCamera() && decisive < 0) {
+                decisive = index;
+                toCancel = handles.clone();
+            }
+            complete = --pending == 0;
+        }
+        if (toCancel != null) {
+            for (int i = 0; i < toCancel.length; i++) if (i != index && toCancel[i] != null) toCancel[i].cancel();
+        }
+        return complete;
+    }
+
+    /** 카메라로 판정됐으면 결과, 아니면 null (모든 포트가 끝난 뒤 호출) */
+    synchronized ScanResult toResult() {
+        if (decisive < 0) return null;
+        Map<Integer, Boolean> open = new LinkedHashMap<>();
+        for (int i = 0; i < ports.length; i++) {
+            if (outcomes[i] != null && outcomes[i] != ProbeOutcome.CANCELLED) open.put(ports[i], outcomes[i].isOpen());
+        }
+        return new ScanResult(ip, true, ports[decisive], open);
+    }
+}
@@ -1,7 +1,5 @@
 package httpconnector;
 
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLHandshakeException;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
@@ -10,18 +8,18 @@ import javax.swing.table.*;
 import java.awt.*;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.*;
+import java.io.IOException;
 import java.net.*;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.IntPredicate;
 
 /**
  * UI/UX 업그레이드 포인트
  * - 상단 툴바 스타일: 정렬/여백/아이콘/키보드 단축키(Enter=검색, Esc=중지, Ctrl+F=검색창 포커스)
- * - 검색창 플레이스홀더, 즉시 필터
+ * - 검색창 플레이스홀더, 입력이 멈추면(SEARCH_DEBOUNCE_MS) ResultFilter로 필터: CIDR(192.168.0.0/25)은 IP 범위,
+ *   그 외는 IP·MAC·열린 포트·상태·제조사(OUI) 부분 문자열 (대소문자 무시)
  * - 테이블: 고정 높이, 헤더 굵게, 지브라(줄무늬) 배경, 상태 pill(라운드 배경), IP monospace, 열 너비/정렬 최적화
  * - 하단 상태바: 총 대상/검출 수, 진행률 표시
  * - 컨테이너 여백과 컬러 톤(라이트/다크 모두 무난)
@@ -30,40 +28,36 @@ import java.util.regex.Pattern;
 public class HttpConnector_V4 extends JFrame {
     // ===== Constants =====
     private static final int DEFAULT_HTTPS_PORT = 443;
-    private static final int TCP_CONNECT_TIMEOUT_MS = 500;    // 포트 열림 감지용
-    private static final int HTTPS_CONNECT_TIMEOUT_MS = 1200; // 핸드셰이크 시도
-    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final ScanExecutors.Mode SCAN_MODE = ScanExecutors.configuredMode();
+    private static final int UI_FRAME_MS = 33;                 // 결과/진행률 반영 주기 (~30fps)
+    private static final int STATUS_EVERY_FRAMES = 15;         // 상태바 문구는 약 0.5초마다
+    private static final int SEARCH_DEBOUNCE_MS = 150;         // 검색어 입력이 멈춘 뒤 필터 적용까지
 
     // ===== UI Fields =====
     private JTextField ipField, portField, searchField;
     private JButton scanButton;
+    private JToggleButton watchToggle;
     private JTable table;
     private ScanTableModel tableModel;
     private TableRowSorter<ScanTableModel> rowSorter;
     private JProgressBar progressBar;
-    private JLabel statusLabel;
+    private JLabel statusLabel, metricsLabel;
 
     // ===== State =====
     private volatile ScanWorker currentWorker;
-
-    // (선택) IP → MAC 매핑
-    private final Map<String, String> ipToMacMap = new HashMap<String, String>() {{
-        put("192.168.0.7", "6C-1C-71-0C-4A-06");
-        put("192.168.0.9", "14-A7-8B-A9-03-02");
-        put("192.168.0.11", "00-18-9A-27-A7-E0");
-        put("192.168.0.12", "00-18-9A-27-A7-D6");
-        put("192.168.0.15", "00-25-C2-86-92-B1");
-        put("192.168.0.17", "A0-BD-1D-F2-30-2A");
-        put("192.168.0.18", "6C-1C-71-0A-AB-FF");
-        put("192.168.0.19", "B4-4C-3B-FA-12-4C");
-        put("192.168.0.20", "6C-1C-71-0C-4A-86");
-        put("192.168.0.21", "A0-BD-1D-F2-36-37");
-        put("192.168.0.22", "6C-1C-71-0C-4A-7F");
-        put("192.168.0.23", "6C-1C-71-0C-4A-27");
-        put("192.168.0.148", "14-A7-8B-A8-E1-47");
-        put("192.168.0.8", "A0-BD-1D-F2-30-22");
-        //
-    }};
+    private boolean startQueued; // EDT 전용: 이전 스캔이 정지하면 새 검색 시작 예약됨
+    private WatchMonitor watch;                 // 감시 모드 (EDT에서만 시작/중지)
+    private CompletableFuture<Void> watchQuiescent = CompletableFuture.completedFuture(null); // 마지막으로 닫은 감시의 프로브 정지
+    private javax.swing.Timer watchStatusTimer;
+    private TargetRange lastTargets;            // 마지막으로 검색한 대역/포트 (감시 대상)
+    private int[] lastPorts;
+
+    // IP → MAC: OS ARP 캐시에서 읽어 TTL 동안 재사용 (scan.arp.file로 원본 지정 가능)
+    private final NeighborTable neighbors = NeighborTable.system();
+    // 이전 스캔 결과 (시작 시 바로 표시, 재검사는 이 호스트들부터)
+    private final ResultStore store = ResultStore.system();
+    // 스캔/감시가 함께 쓰는 엔진 (첫 검색 때 생성, 창을 닫을 때 종료)
+    private ScanEngine engine;
 
     public HttpConnector_V4() {
         applyModernUI();
@@ -81,11 +75,12 @@ public class HttpConnector_V4 extends JFrame {
         tableModel = new ScanTableModel();
         table = new JTable(tableModel) {
             // 줄무늬 배경
+            private Color zebraBase, zebra; // 배경색이 바뀔 때만 다시 계산
             @Override public Component prepareRenderer(TableCellRenderer r, int row, int col) {
                 Component c = super.prepareRenderer(r, row, col);
                 if (!isRowSelected(row)) {
                     Color base = getBackground();
-                    Color zebra = new Color(base.getRed(), base.getGreen(), base.getBlue(), 10);
+                    if (!base.equals(zebraBase)) { zebraBase = base; zebra = new Color(base.getRed(), base.getGreen(), base.getBlue(), 10); }
                     c.setBackground((row % 2 == 0) ? base : zebra);
                 }
                 return c;
@@ -105,21 +100,25 @@ public class HttpConnector_V4 extends JFrame {
         header.setFont(header.getFont().deriveFont(Font.BOLD));
 
         // 렌더러/에디터
-        table.getColumnModel().getColumn(0).setCellRenderer(new IpRenderer());
+        table.getColumnModel().getColumn(0).setCellRenderer(new HostRenderer(tableModel));
         table.getColumnModel().getColumn(1).setCellRenderer(new StatusPillRenderer());
-        table.getColumnModel().getColumn(2).setCellRenderer(new ButtonRenderer());
-        table.getColumnModel().getColumn(2).setCellEditor(new ButtonEditor(new JCheckBox()));
+        table.getColumnModel().getColumn(2).setCellRenderer(new IpRenderer());
+        table.getColumnModel().getColumn(3).setCellRenderer(new IpRenderer());
+        table.getColumnModel().getColumn(4).setCellRenderer(new ButtonRenderer());
+        table.getColumnModel().getColumn(4).setCellEditor(new ButtonEditor(new JCheckBox()));
 
         // 정렬 + 필터
         rowSorter = new TableRowSorter<>(tableModel);
-        rowSorter.setComparator(0, Comparator.comparingLong(Util::ipToLong));
+        rowSorter.setComparator(0, tableModel.ipOrder);
         table.setRowSorter(rowSorter);
 
         // 열 너비
         TableColumnModel cols = table.getColumnModel();
-        cols.getColumn(0).setPreferredWidth(340);
-        cols.getColumn(1).setPreferredWidth(120);
-        cols.getColumn(2).setPreferredWidth(80);
+        cols.getColumn(0).setPreferredWidth(300);
+        cols.getColumn(1).setPreferredWidth(100);
+        cols.getColumn(2).setPreferredWidth(100);
+        cols.getColumn(3).setPreferredWidth(160);
+        cols.getColumn(4).setPreferredWidth(80);
 
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(new EmptyBorder(0, 12, 12, 12));
@@ -142,28 +141,27 @@ public class HttpConnector_V4 extends JFrame {
         JPanel statusBar = new JPanel(new BorderLayout());
         statusBar.setBorder(new EmptyBorder(6, 12, 8, 12));
         statusLabel = new JLabel("대기 중");
+        metricsLabel = new JLabel();   // 단계별 지연/결과 카운터 (ScanMetrics, JMX에도 노출)
+        metricsLabel.setBorder(new EmptyBorder(0, 12, 0, 12));
+        metricsLabel.setForeground(UIManager.getColor("Label.disabledForeground"));
         progressBar = new JProgressBar();
         progressBar.setStringPainted(true);
         progressBar.setVisible(false);
         statusBar.add(statusLabel, BorderLayout.WEST);
+        statusBar.add(metricsLabel, BorderLayout.CENTER);
         statusBar.add(progressBar, BorderLayout.EAST);
         add(statusBar, BorderLayout.SOUTH);
 
-        // 검색 필터 동작
+        // 검색 필터 동작: 입력이 SEARCH_DEBOUNCE_MS 동안 멈추면 한 번 적용
+        javax.swing.Timer searchDebounce = new javax.swing.Timer(SEARCH_DEBOUNCE_MS, e -> {
+            rowSorter.setRowFilter(ResultFilter.compile(searchField.getText(), tableModel));
+            updateStatus();
+        });
+        searchDebounce.setRepeats(false);
         searchField.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { filter(); }
-            public void removeUpdate(DocumentEvent e) { filter(); }
-            public void changedUpdate(DocumentEvent e) { filter(); }
-            private void filter() {
-                String text = searchField.getText();
-                if (text == null || text.trim().isEmpty()) {
-                    rowSorter.setRowFilter(null);
-                } else {
-                    String regex = Pattern.quote(text.trim());
-                    rowSorter.setRowFilter(RowFilter.regexFilter("(?i)" + regex));
-                }
-                updateStatus();
-            }
+            public void insertUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            public void removeUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            public void changedUpdate(DocumentEvent e) { searchDebounce.restart(); }
         });
 
         // 버튼 핸들러
@@ -190,12 +188,19 @@ public class HttpConnector_V4 extends JFrame {
 
         // 안전 종료: 스캔 중이면 취소
         addWindowListener(new WindowAdapter() {
-            @Override public void windowClosing(WindowEvent e) { cancelScanIfRunning(); }
+            @Override public void windowClosing(WindowEvent e) {
+                cancelScanIfRunning();
+                stopWatch();
+                try { store.save(); } catch (IOException ex) { System.err.println("Result store write failed: " + ex.getMessage()); } // 마지막 검색 뒤 감시가 찾은 카메라
+                if (engine != null) engine.close();
+            }
         });
 
         setVisible(true);
 
-        // 시작 시 자동 검색
+        // 이전 결과를 먼저 보여주고 시작 시 자동 검색 (확인된 행만 갱신)
+        store.load();
+        tableModel.upsertRows(store.results(), true);
         onScanButton();
     }
 
@@ -217,13 +222,22 @@ public class HttpConnector_V4 extends JFrame {
         bar.add(ipField);
 
         bar.add(new JLabel("포트"));
-        portField = sizedField("", 5);
+        portField = sizedField("", 12);
+        portField.setToolTipText("여러 포트는 쉼표로 구분 (예: 443,8443,554) — 동시에 검사, 먼저 판정된 포트 사용");
         bar.add(portField);
 
         scanButton = new JButton("검색");
         scanButton.putClientProperty("JButton.buttonType", "roundRect");
         bar.add(scanButton);
 
+        watchToggle = new JToggleButton("감시");
+        watchToggle.setToolTipText("검색이 끝난 대역을 계속 재검사해 카메라 온라인/오프라인 변화와 새 카메라를 표시");
+        watchToggle.addActionListener(e -> {
+            if (!watchToggle.isSelected()) stopWatch();
+            else if (currentWorker == null || currentWorker.isDone()) whenQuiescent(() -> { if (watchToggle.isSelected()) startWatch(); }); // 검색 중이면 끝난 뒤 시작
+        });
+        bar.add(watchToggle);
+
         return bar;
     }
 
@@ -248,10 +262,70 @@ public class HttpConnector_V4 extends JFrame {
         field.addPropertyChangeListener(evt -> field.repaint());
     }
 
+    // 마지막 검색 대역의 카메라 행과 빈 주소를 감시 (결과는 EDT로 넘겨 행 상태만 갱신)
+    private void startWatch() {
+        stopWatch();
+        if (lastTargets == null) return;
+        int[][] known = tableModel.cameraRows(lastTargets::contains);
+        int[] ports = lastPorts;
+        WatchMonitor.Listener listener = new WatchMonitor.Listener() {
+            @Override public void found(ScanResult r) { // 엔진이 MAC까지 채워서 넘김
+                SwingUtilities.invokeLater(() -> {
+                    tableModel.upsertRows(Collections.singletonList(r), false);
+                    store.record(r, ports, System.currentTimeMillis());
+                });
+            }
+            @Override public void changed(int ip, boolean up) {
+                SwingUtilities.invokeLater(() -> tableModel.setStatus(ip, up ? ScanTableModel.STATUS_CAMERA : ScanTableModel.STATUS_DOWN));
+            }
+        };
+        ScanEngine engine = engine();
+        if (engine == null) { watchToggle.setSelected(false); return; }
+        watch = new WatchMonitor(lastTargets, known[0], known[1], ports, engine, listener);
+        watchStatusTimer = new javax.swing.Timer(1000, e -> {
+            if (watch != null) statusLabel.setText(watch.summary());
+            showMetrics();
+        });
+        watchStatusTimer.start();
+    }
+
+    private void stopWatch() {
+        if (watchStatusTimer != null) { watchStatusTimer.stop(); watchStatusTimer = null; }
+        if (watch != null) { watch.close(); watchQuiescent = watch.quiescent(); watch = null; }
+    }
+
+    // EDT: 실패하면 안내 후 null
+    private ScanEngine engine() {
+        if (engine == null) {
+            try {
+                engine = new ScanEngine(SCAN_MODE, neighbors);
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(this, "스캔 엔진 시작 실패: " + e.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        return engine;
+    }
+
+    private void showMetrics() {
+        if (engine != null) metricsLabel.setText(engine.metrics().summary());
+    }
+
     private void cancelScanIfRunning() {
         if (currentWorker != null && !currentWorker.isDone()) currentWorker.cancel(true);
     }
 
+    // 이전 스캔과 닫은 감시의 프로브가 모두 끝난 뒤 EDT에서 실행 (취소 직후에는 워커가 먼저 done이 되므로 스캔끼리 겹치지 않게)
+    private void whenQuiescent(Runnable r) {
+        CompletableFuture<Void> q = quiescent();
+        if (q.isDone()) r.run();
+        else q.thenRun(() -> SwingUtilities.invokeLater(r));
+    }
+
+    private CompletableFuture<Void> quiescent() {
+        ScanWorker last = currentWorker;
+        return last == null ? watchQuiescent : CompletableFuture.allOf(last.scan.quiescent(), watchQuiescent);
+    }
+
     private void copySelectedIp() {
         int view = table.getSelectedRow();
         if (view < 0) return;
@@ -265,12 +339,10 @@ public class HttpConnector_V4 extends JFrame {
         int view = table.getSelectedRow();
         if (view < 0) return;
         int modelRow = table.convertRowIndexToModel(view);
-        String ip = tableModel.ipAt(modelRow);
-        openInBrowser(ip);
+        openInBrowser(tableModel.ipAt(modelRow), tableModel.portAt(modelRow));
     }
 
-    private void openInBrowser(String ip) {
-        int port = parsePort(portField.getText().trim());
+    private void openInBrowser(String ip, int port) {
         String url = "https://" + ip + ":" + port;
         try {
             Desktop.getDesktop().browse(new URI(url));
@@ -289,210 +361,457 @@ public class HttpConnector_V4 extends JFrame {
             currentWorker.cancel(true);
             return;
         }
+        if (startQueued) return;
 
         String input = ipField.getText().trim();
-        int port = parsePort(portField.getText().trim());
+        int[] ports = parsePorts(portField.getText().trim());
 
-        List<String> targets;
+        TargetRange targets;
         try {
-            targets = RangeParser.parseTargets(input);
+            targets = RangeParser.parse(input);
         } catch (IllegalArgumentException ex) {
             JOptionPane.showMessageDialog(this, "IP 대역 입력 형식 오류: " + ex.getMessage(), "입력 오류", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
+        // 감시 중이면 멈추고 검색이 끝난 뒤 새 대역으로 다시 시작, 이전 스캔·감시 프로브가 남아 있으면 정지 후 시작
+        stopWatch();
+        if (!quiescent().isDone()) {
+            startQueued = true;
+            statusLabel.setText("이전 검색 정리 중…");
+            whenQuiescent(() -> { startQueued = false; onScanButton(); });
+            return;
+        }
+
+        ScanEngine engine = engine();
+        if (engine == null) return;
+
         // 초기화
-        tableModel.clear();
+        lastTargets = targets;
+        lastPorts = ports;
+        int total = (int) targets.size();
+        tableModel.markCached(targets::contains, ports);
         progressBar.setVisible(true);
         progressBar.setMinimum(0);
-        progressBar.setMaximum(targets.size());
+        progressBar.setMaximum(total);
         progressBar.setValue(0);
         scanButton.setText("중지");
-        statusLabel.setText("검색 중… 총 " + targets.size() + "개 대상");
+        statusLabel.setText("검색 중… 총 " + total + "개 대상");
 
-        currentWorker = new ScanWorker(targets, port);
+        currentWorker = new ScanWorker(engine, targets, total, ports, store.hosts());
         currentWorker.execute();
     }
 
     // ===== SwingWorker: 백그라운드 스캔 =====
-    private class ScanWorker extends SwingWorker<Void, ScanResult> {
-        private final List<String> targets;
-        private final int port;
+    // 프로브는 ScanEngine이 담당하고, 워커는 결과를 큐에 받아 두기만 함
+    // EDT는 UI_FRAME_MS마다 한 번 모아서 반영 (프레임당 이벤트 1회, 범위 삽입 1회)
+    private class ScanWorker extends SwingWorker<Void, Void> {
+        private final TargetRange targets;
+        private final int[] ports;
+        private final int total;
+        private final ScanEngine.Scan scan;
         private final long startTime = System.currentTimeMillis();
-
-        ScanWorker(List<String> targets, int port) {
+        private final ConcurrentLinkedQueue<ScanResult> pending = new ConcurrentLinkedQueue<>(); // 아직 테이블에 반영 안 된 결과
+        private final javax.swing.Timer uiTick; // 결과/진행률 반영 + 학습된 RTT/타임아웃, 동시 실행 창을 상태바에 주기적으로 표시
+        private final List<ScanResult> batch = new ArrayList<>(); // EDT 전용, 프레임마다 재사용
+        private int frames, shownProgress = -1, found;
+        private volatile Throwable error; // 스캔이 onError로 끝남 → 끝까지 돈 것으로 보지 않음
+
+        // seen: 이전에 발견된 호스트 (먼저 검사)
+        ScanWorker(ScanEngine engine, TargetRange targets, int total, int[] ports, int[] seen) {
             this.targets = targets;
-            this.port = port;
+            this.ports = ports;
+            this.total = total;
+            this.scan = engine.scan(targets, ports, seen);
+            this.uiTick = new javax.swing.Timer(UI_FRAME_MS, e -> applyFrame());
+            this.uiTick.setCoalesce(true);
+            this.uiTick.start();
         }
 
         @Override
         protected Void doInBackground() {
-            ExecutorService pool = Executors.newFixedThreadPool(THREADS, r -> {
-                Thread t = new Thread(r, "scan-worker");
-                t.setDaemon(true);
-                return t;
+            CountDownLatch finished = new CountDownLatch(1);
+            scan.subscribe(new Flow.Subscriber<ScanResult>() {
+                // 큐는 프레임마다 비워지므로 요청량 제한 없이 받음
+                @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+                @Override public void onNext(ScanResult r) { pending.add(r); }
+                @Override public void onError(Throwable t) { System.err.println("Scan failed: " + t); error = t; finished.countDown(); }
+                @Override public void onComplete() { finished.countDown(); }
             });
-
             try {
-                final AtomicInteger done = new AtomicInteger();
-                List<Future<?>> futures = new ArrayList<>();
-                for (String ip : targets) {
-                    if (isCancelled()) break;
-                    futures.add(pool.submit(() -> {
-                        if (isCancelled()) return; // 빠른 취소
-                        ScanResult res = scanOne(ip, port);
-                        if (res != null && res.isCamera) publish(res);
-                        int v = done.incrementAndGet();
-                        setProgress((int) ((v * 100.0) / targets.size()));
-                        SwingUtilities.invokeLater(() -> progressBar.setValue(v));
-                    }));
-                }
-                for (Future<?> f : futures) {
-                    if (isCancelled()) break;
-                    try { f.get(); } catch (CancellationException ignore) { /* ignore */ }
-                }
-            } catch (InterruptedException ie) {
+                finished.await();
+            } catch (InterruptedException ie) { // cancel(true)
+                scan.cancel();
                 Thread.currentThread().interrupt();
-            } catch (ExecutionException ee) {
-                System.err.println("Execution error: " + ee.getMessage());
-            } finally {
-                pool.shutdownNow();
             }
             return null;
         }
 
-        @Override
-        protected void process(List<ScanResult> chunks) {
-            for (ScanResult r : chunks) tableModel.addRow(r, ipToMacMap.get(r.ip));
-            updateStatus();
+        // EDT: 쌓인 결과를 한 번의 범위 삽입으로, 진행률은 값이 바뀐 경우만 반영
+        private void applyFrame() {
+            for (ScanResult r; (r = pending.poll()) != null; ) batch.add(r);
+            if (!batch.isEmpty()) {
+                UiBatchEvent jfr = new UiBatchEvent(); // 녹화 중이 아니면 begin/commit은 아무 일도 안 함
+                jfr.begin();
+                tableModel.upsertRows(batch, false);
+                long now = System.currentTimeMillis();
+                for (ScanResult r : batch) store.record(r, ports, now);
+                found += batch.size();
+                jfr.results = batch.size();
+                jfr.tableRows = tableModel.getRowCount();
+                jfr.commit();
+                batch.clear();
+            }
+            int v = scan.completedHosts();
+            if (v != shownProgress) {
+                shownProgress = v;
+                progressBar.setValue(v);
+                setProgress(total == 0 ? 100 : (int) ((v * 100L) / total));
+            }
+            if (++frames % STATUS_EVERY_FRAMES == 0) {
+                statusLabel.setText("검색 중… 총 " + total + "개 대상 · " + found + "건 감지 · " + scan.summary());
+                showMetrics();
+            }
         }
 
         @Override
         protected void done() {
+            uiTick.stop();
+            if (isCancelled()) scan.cancel(); // 시작 전에 취소된 경우
+            applyFrame(); // 마지막 프레임 이후 도착한 결과까지 반영
+            boolean complete = !isCancelled() && error == null;
+            // 끝까지 돈 경우만: 이번에 검사한 (대역 안 IP, 포트)에서 다시 발견되지 않은 이전 결과 정리
+            if (complete) store.forget(tableModel.removeCached(targets::contains, ports), ports);
+            try { store.save(); } catch (IOException e) { System.err.println("Result store write failed: " + e.getMessage()); }
             progressBar.setVisible(false);
             scanButton.setText("검색");
             long ms = System.currentTimeMillis() - startTime;
-            statusLabel.setText("완료 · " + tableModel.getRowCount() + "건 감지 · " + ms + "ms");
+            String outcome = isCancelled() ? "취소됨" : error != null ? "실패 (" + error + ")" : "완료";
+            statusLabel.setText(outcome + " · " + found + "건 감지 · " + ms + "ms · " + scan.summary());
+            showMetrics();
+            // 취소: 남은 프로브가 정지하면 걸린 시간 표시 (새 검색이 이미 시작됐으면 그대로 둠)
+            if (isCancelled()) scan.quiescent().thenRun(() -> SwingUtilities.invokeLater(() -> {
+                if (currentWorker == this && !startQueued) {
+                    statusLabel.setText(statusLabel.getText() + " · 정지 " + String.format("%.1fms", scan.cancelToQuiescentNanos() / 1e6));
+                }
+            }));
+            if (complete && watchToggle.isSelected()) startWatch();
         }
     }
 
-    // 단일 IP 스캔 → 카메라 추정 여부
-    private static ScanResult scanOne(String ip, int port) {
-        if (!tcpOpen(ip, port, TCP_CONNECT_TIMEOUT_MS)) return null;
-        HttpsURLConnection conn = null;
+    // '443' 또는 '443,8443,554' → 중복 제거, 입력 순서 유지
+    private int[] parsePorts(String portText) {
+        if (portText == null || portText.isBlank()) return new int[] {DEFAULT_HTTPS_PORT};
         try {
-            URL url = new URL("https://" + ip + ":" + port + "/");
-            conn = (HttpsURLConnection) url.openConnection();
-            conn.setConnectTimeout(HTTPS_CONNECT_TIMEOUT_MS);
-            conn.setReadTimeout(HTTPS_CONNECT_TIMEOUT_MS);
-            conn.setInstanceFollowRedirects(false);
-            conn.connect();
-            return new ScanResult(ip, false);
-        } catch (SSLHandshakeException ssl) {
-            return new ScanResult(ip, true);
-        } catch (Exception ignore) {
-            return null;
-        } finally {
-            if (conn != null) conn.disconnect();
+            LinkedHashSet<Integer> ports = new LinkedHashSet<>();
+            for (String part : portText.split(",")) {
+                if (part.isBlank()) continue;
+                int p = Integer.parseInt(part.trim());
+                if (p <= 0 || p > 65535) throw new NumberFormatException();
+                ports.add(p);
+            }
+            if (ports.isEmpty()) throw new NumberFormatException();
+            return ports.stream().mapToInt(Integer::intValue).toArray();
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "포트 번호가 올바르지 않습니다. 기본값(443) 사용", "경고", JOptionPane.WARNING_MESSAGE);
+            return new int[] {DEFAULT_HTTPS_PORT};
         }
     }
 
-    private static boolean tcpOpen(String ip, int port, int timeoutMs) {
-        try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(ip, port), timeoutMs);
-            return true;
-        } catch (Exception e) {
+    // ===== Table Model =====
+    /**
+     * 열 단위(columnar) 저장: 행 객체 없이 기본형 배열만 사용 → 행당 19바이트 + IP 색인 8~16바이트 (100만 행 약 32MB)
+     * - IP(int), 상태(byte), 제조사(OuiIndex id, short), MAC/열린 포트 문자열은 풀의 인덱스(int)로 보관 (같은 문자열은 한 번만 저장)
+     * - 배열은 2배씩 늘림, clear() 시 처음 크기로 되돌림
+     * - IP → 행 번호 색인(열린 주소법 int[])으로 같은 IP의 결과는 행을 새로 만들지 않고 바뀐 경우만 갱신
+     * - 이전 실행에서 저장된 결과는 STATUS_CACHED로 표시, 이번 스캔에서 확인되면 일반 상태로 바뀜
+     * - IP 열의 값은 행 번호 키(RowKey, 행마다 처음 조회할 때 한 번 생성) → 정렬 비교마다 Integer를 만들지 않음
+     */
+    static class ScanTableModel extends AbstractTableModel {
+        static final byte STATUS_OTHER = 0, STATUS_CAMERA = 1, STATUS_CACHED = 2, STATUS_DOWN = 3;
+        static final String[] STATUS_TEXT = {"-", "카메라", "이전 결과", "오프라인"};
+        private static final int INITIAL_CAPACITY = 1024;
+        private final String[] cols = {"IP 주소", "상태", "제조사", "열린 포트", "접속"};
+        private final OuiIndex oui = OuiIndex.shared();
+
+        private int size;
+        private int[] ips, macs, ports, openPorts; // macs: macPool 인덱스(-1 = 없음), openPorts: openPool 인덱스
+        private byte[] status;
+        private short[] vendors; // OuiIndex 제조사 id (-1 = 모름)
+        private final StringPool macPool = new StringPool(), openPool = new StringPool();
+        private int[] slots; // IP → 행 번호+1 (0 = 빈 칸), 크기는 2의 거듭제곱이고 절반 이하만 사용
+
+        private RowKey[] keys = new RowKey[0]; // 행 번호 → 키 (행을 지워도 번호는 그대로 유효)
+
+        /** IP 열 값: 행 번호 키, 문자열은 "IP (MAC)" (복사/접근성용) */
+        final class RowKey {
+            final int row;
+            RowKey(int row) { this.row = row; }
+            @Override public String toString() { return displayAt(row); }
+        }
+
+        /** IP 열 정렬: 행 키로 int IP 배열을 부호 없이 비교 (할당 없음) */
+        final Comparator<Object> ipOrder = (a, b) -> Integer.compareUnsigned(ips[((RowKey) a).row], ips[((RowKey) b).row]);
+
+        /** 반복되는 문자열(MAC, "443*, 8443" 등)을 한 번만 보관하고 인덱스로 참조 (검색용 소문자 사본 포함) */
+        static final class StringPool {
+            private final Map<String, Integer> index = new HashMap<>();
+            private final List<String> values = new ArrayList<>(), lower = new ArrayList<>();
+            int intern(String s) {
+                if (s == null) return -1;
+                Integer i = index.get(s);
+                if (i == null) { i = values.size(); values.add(s); lower.add(s.toLowerCase(Locale.ROOT)); index.put(s, i); }
+                return i;
+            }
+            String get(int i) { return i < 0 ? null : values.get(i); }
+            String lower(int i) { return lower.get(i); }
+            int size() { return values.size(); }
+            void clear() { index.clear(); values.clear(); lower.clear(); }
+        }
+
+        ScanTableModel() { allocate(INITIAL_CAPACITY); }
+
+        void clear() { size = 0; allocate(INITIAL_CAPACITY); keys = new RowKey[0]; macPool.clear(); openPool.clear(); fireTableDataChanged(); }
+
+        /**
+         * 결과 묶음 반영: 새 IP는 뒤에 추가(삽입 이벤트는 범위로 한 번), 이미 있는 IP는 값이 바뀐 경우만 갱신
+         * cached면 저장소에서 읽은 결과 (STATUS_CACHED로 표시)
+         */
+        void upsertRows(List<ScanResult> batch, boolean cached) {
+            if (batch.isEmpty()) return;
+            int first = size, changedLo = Integer.MAX_VALUE, changedHi = -1;
+            ensureCapacity(size + batch.size());
+            for (ScanResult r : batch) {
+                StringJoiner open = new StringJoiner(", ");
+                r.openPorts.forEach((port, isOpen) -> { if (isOpen) open.add(port == r.port ? port + "*" : String.valueOf(port)); });
+                byte st = cached ? STATUS_CACHED : r.isCamera ? STATUS_CAMERA : STATUS_OTHER;
+                int mac = macPool.intern(r.mac), openId = openPool.intern(open.toString());
+                int row = rowOf(r.ip);
+                if (row < 0) {
+                    row = size++;
+                    ips[row] = r.ip;
+                    index(row);
+                } else if (status[row] == st && macs[row] == mac && ports[row] == r.port && openPorts[row] == openId) {
+                    continue; // 그대로
+                } else if (row < first) {
+                    changedLo = Math.min(changedLo, row); changedHi = Math.max(changedHi, row);
+                }
+                status[row] = st;
+                macs[row] = mac;
+                vendors[row] = (short) oui.vendorId(r.mac);
+                ports[row] = r.port;
+                openPorts[row] = openId;
+            }
+            if (changedHi >= 0) fireTableRowsUpdated(changedLo, changedHi);
+            if (size > first) fireTableRowsInserted(first, size - 1);
+        }
+
+        /** 새 스캔 시작: 이번에 검사할 행(대역 안 IP, 판정 포트가 검사 포트에 포함)을 "이전 결과"로 (다시 확인되면 갱신) */
+        void markCached(IntPredicate inRange, int[] probedPorts) {
+            boolean any = false;
+            for (int row = 0; row < size; row++) {
+                if (status[row] != STATUS_CACHED && probed(row, inRange, probedPorts)) { status[row] = STATUS_CACHED; any = true; }
+            }
+            if (any) fireTableRowsUpdated(0, size - 1);
+        }
+
+        /** 스캔 완료: 검사했는데 다시 확인되지 않은 "이전 결과" 행 삭제 (다른 포트로 찾았던 행은 유지), 삭제한 IP 반환 */
+        int[] removeCached(IntPredicate inRange, int[] probedPorts) {
+            int[] removed = new int[size];
+            int n = 0, kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (status[row] == STATUS_CACHED && probed(row, inRange, probedPorts)) { removed[n++] = ips[row]; continue; }
+                if (kept != row) {
+                    ips[kept] = ips[row]; macs[kept] = macs[row]; ports[kept] = ports[row];
+                    openPorts[kept] = openPorts[row]; status[kept] = status[row]; vendors[kept] = vendors[row];
+                }
+                kept++;
+            }
+            if (n == 0) return new int[0];
+            size = kept;
+            reindex(slots.length);
+            fireTableDataChanged();
+            return Arrays.copyOf(removed, n);
+        }
+
+        private boolean probed(int row, IntPredicate inRange, int[] probedPorts) {
+            if (!inRange.test(ips[row])) return false;
+            for (int p : probedPorts) if (p == ports[row]) return true;
             return false;
         }
-    }
 
-    private int parsePort(String portText) {
-        if (portText == null || portText.isBlank()) return DEFAULT_HTTPS_PORT;
-        try {
-            int p = Integer.parseInt(portText.trim());
-            if (p <= 0 || p > 65535) throw new NumberFormatException();
-            return p;
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "포트 번호가 올바르지 않습니다. 기본값(443) 사용", "경고", JOptionPane.WARNING_MESSAGE);
-            return DEFAULT_HTTPS_PORT;
+        /** 감시 모드 전환 반영 (값이 바뀐 행만 갱신 이벤트) */
+        void setStatus(int ip, byte st) {
+            int row = rowOf(ip);
+            if (row < 0 || status[row] == st) return;
+            status[row] = st;
+            fireTableRowsUpdated(row, row);
         }
-    }
 
-    // ===== Table Model =====
-    static class ScanTableModel extends AbstractTableModel {
-        private final String[] cols = {"IP 주소", "상태", "접속"};
-        private final List<Row> rows = new ArrayList<>();
+        /** 대역 안의 카메라 행 → {IP 배열, 판정 포트 배열} */
+        int[][] cameraRows(IntPredicate inRange) {
+            int[] outIps = new int[size], outPorts = new int[size];
+            int n = 0;
+            for (int row = 0; row < size; row++) {
+                if (status[row] == STATUS_CAMERA && inRange.test(ips[row])) { outIps[n] = ips[row]; outPorts[n++] = ports[row]; }
+            }
+            return new int[][] {Arrays.copyOf(outIps, n), Arrays.copyOf(outPorts, n)};
+        }
+
+        int rowOf(int ip) {
+            int mask = slots.length - 1;
+            for (int i = mix(ip) & mask; ; i = (i + 1) & mask) {
+                int v = slots[i];
+                if (v == 0) return -1;
+                if (ips[v - 1] == ip) return v - 1;
+            }
+        }
 
-        static class Row {
-            final String ip;      // 순수 IP
-            final String display; // IP (MAC)
-            final boolean isCamera;
-            Row(String ip, String display, boolean isCamera) { this.ip = ip; this.display = display; this.isCamera = isCamera; }
+        private void index(int row) {
+            if (size * 2 > slots.length) { reindex(slots.length * 2); return; }
+            int mask = slots.length - 1, i = mix(ips[row]) & mask;
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = row + 1;
         }
 
-        void clear() { rows.clear(); fireTableDataChanged(); }
-        void addRow(ScanResult r, String mac) {
-            String display = mac == null ? r.ip : r.ip + " (" + mac + ")";
-            rows.add(new Row(r.ip, display, r.isCamera));
-            int idx = rows.size() - 1; fireTableRowsInserted(idx, idx);
+        private void reindex(int capacity) {
+            slots = new int[capacity];
+            int mask = capacity - 1;
+            for (int row = 0; row < size; row++) {
+                int i = mix(ips[row]) & mask;
+                while (slots[i] != 0) i = (i + 1) & mask;
+                slots[i] = row + 1;
+            }
         }
 
-        @Override public int getRowCount() { return rows.size(); }
+        private static int mix(int ip) { int h = ip * 0x9E3779B9; return h ^ (h >>> 16); }
+
+        private void allocate(int capacity) {
+            ips = new int[capacity]; macs = new int[capacity]; ports = new int[capacity]; openPorts = new int[capacity];
+            status = new byte[capacity]; vendors = new short[capacity];
+            slots = new int[capacity * 2];
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed <= ips.length) return;
+            int capacity = Math.max(needed, ips.length * 2);
+            ips = Arrays.copyOf(ips, capacity); macs = Arrays.copyOf(macs, capacity);
+            ports = Arrays.copyOf(ports, capacity); openPorts = Arrays.copyOf(openPorts, capacity);
+            status = Arrays.copyOf(status, capacity); vendors = Arrays.copyOf(vendors, capacity);
+        }
+
+        @Override public int getRowCount() { return size; }
         @Override public int getColumnCount() { return cols.length; }
         @Override public String getColumnName(int column) { return cols[column]; }
-        @Override public boolean isCellEditable(int rowIndex, int columnIndex) { return columnIndex == 2; }
+        @Override public Class<?> getColumnClass(int column) { return column == 0 ? Object.class : String.class; }
+        @Override public boolean isCellEditable(int rowIndex, int columnIndex) { return columnIndex == 4; }
 
         @Override
         public Object getValueAt(int rowIndex, int columnIndex) {
-            Row r = rows.get(rowIndex);
             switch (columnIndex) {
-                case 0: return r.display;
-                case 1: return r.isCamera ? "카메라" : "-";
-                case 2: return "접속";
+                case 0: return keyOf(rowIndex); // 정렬은 ipOrder(int 배열 비교), 표시는 HostRenderer가 displayAt()으로
+                case 1: return STATUS_TEXT[status[rowIndex]];
+                case 2: { String v = oui.vendor(vendors[rowIndex]); return v == null ? "" : v; }
+                case 3: return openPool.get(openPorts[rowIndex]);
+                case 4: return "접속";
             }
             return null;
         }
-        public String ipAt(int modelRow) { return rows.get(modelRow).ip; }
+        private RowKey keyOf(int row) {
+            if (row >= keys.length) keys = Arrays.copyOf(keys, Math.max(row + 1, keys.length * 2));
+            RowKey k = keys[row];
+            if (k == null) keys[row] = k = new RowKey(row);
+            return k;
+        }
+        public int ipIntAt(int modelRow) { return ips[modelRow]; }
+        public String ipAt(int modelRow) { return Ipv4.format(ips[modelRow]); }
+        public String macAt(int modelRow) { return macPool.get(macs[modelRow]); }
+        public boolean isCameraAt(int modelRow) { return status[modelRow] == STATUS_CAMERA; }
+        byte statusCodeAt(int modelRow) { return status[modelRow]; }
+        public int portAt(int modelRow) { return ports[modelRow]; }
+        public String statusAt(int modelRow) { return STATUS_TEXT[status[modelRow]]; }
+        public String openPortsAt(int modelRow) { return openPool.get(openPorts[modelRow]); }
+        int vendorIdAt(int modelRow) { return vendors[modelRow]; }
+        // 검색 인덱스: 행 → 풀 id, 풀 id → 소문자 문자열 (ResultFilter가 id별 판정을 한 번만 하도록)
+        int macIdAt(int modelRow) { return macs[modelRow]; }
+        int openIdAt(int modelRow) { return openPorts[modelRow]; }
+        String macKey(int id) { return macPool.lower(id); }
+        String openKey(int id) { return openPool.lower(id); }
+        /** IP (MAC) */
+        public String displayAt(int modelRow) {
+            String mac = macAt(modelRow);
+            return mac == null ? ipAt(modelRow) : ipAt(modelRow) + " (" + mac + ")";
+        }
+
+        /** 배열 용량 기준 대략적인 힙 사용량 (문자열 풀 제외) */
+        long arrayBytes() { return (long) ips.length * (4 * 4 + 1 + 2) + slots.length * 4L; }
     }
 
     // ===== Renderer/Editor =====
+    // 렌더러는 컴포넌트/폰트/테두리/색을 한 번만 만들고 재사용 (셀을 그릴 때 새로 만드는 것은 셀 문자열뿐)
     static class IpRenderer extends DefaultTableCellRenderer {
-        private final Font mono = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+        private static final Font MONO = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+        private static final EmptyBorder PAD = new EmptyBorder(0, 8, 0, 8);
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
             JLabel label = (JLabel) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-            label.setFont(mono);
-            label.setBorder(new EmptyBorder(0, 8, 0, 8));
+            label.setFont(MONO);
+            label.setBorder(PAD);
             return label;
         }
     }
 
-    static class StatusPillRenderer extends DefaultTableCellRenderer {
+    /** IP 열: 값은 행 키, 표시는 "IP (MAC)" */
+    static class HostRenderer extends IpRenderer {
+        private static final long serialVersionUID = 1L;
+        private final ScanTableModel model;
+        HostRenderer(ScanTableModel model) { this.model = model; }
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            String v = value == null ? "" : value.toString();
-            JLabel pill = new JLabel(v, SwingConstants.CENTER) {
-                @Override protected void paintComponent(Graphics g) {
-                    Graphics2D g2 = (Graphics2D) g.create();
-                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    int w = getWidth(); int h = getHeight();
-                    Color bg;
-                    if ("카메라".equals(getText())) bg = new Color(32, 158, 80);
-                    else bg = new Color(120, 120, 120);
-                    if (isSelected) bg = bg.darker();
-                    g2.setColor(bg);
-                    g2.fillRoundRect(6, 6, w - 12, h - 12, h, h);
-                    g2.dispose();
-                    super.paintComponent(g);
-                }
-            };
-            pill.setForeground(Color.WHITE);
-            pill.setOpaque(false);
-            pill.setBorder(new EmptyBorder(0, 0, 0, 0));
-            return pill;
+            String text = model.displayAt(table.convertRowIndexToModel(row));
+            return super.getTableCellRendererComponent(table, text, isSelected, hasFocus, row, column);
         }
     }
 
+    static class StatusPillRenderer extends JLabel implements TableCellRenderer {
+        private static final Color CAMERA = new Color(32, 158, 80), OTHER = new Color(120, 120, 120), CACHED = new Color(196, 140, 40), DOWN = new Color(200, 60, 60);
+        private static final Color CAMERA_SELECTED = CAMERA.darker(), OTHER_SELECTED = OTHER.darker(), CACHED_SELECTED = CACHED.darker(), DOWN_SELECTED = DOWN.darker();
+        private Color pill = OTHER;
+
+        StatusPillRenderer() {
+            setHorizontalAlignment(SwingConstants.CENTER);
+            setForeground(Color.WHITE);
+            setOpaque(false);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            setText(value == null ? "" : value.toString());
+            if (ScanTableModel.STATUS_TEXT[ScanTableModel.STATUS_CAMERA].equals(value)) pill = isSelected ? CAMERA_SELECTED : CAMERA;
+            else if (ScanTableModel.STATUS_TEXT[ScanTableModel.STATUS_CACHED].equals(value)) pill = isSelected ? CACHED_SELECTED : CACHED;
+            else if (ScanTableModel.STATUS_TEXT[ScanTableModel.STATUS_DOWN].equals(value)) pill = isSelected ? DOWN_SELECTED : DOWN;
+            else pill = isSelected ? OTHER_SELECTED : OTHER;
+            return this;
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int w = getWidth(); int h = getHeight();
+            g2.setColor(pill);
+            g2.fillRoundRect(6, 6, w - 12, h - 12, h, h);
+            g2.dispose();
+            super.paintComponent(g);
+        }
+
+        // 렌더러 성능: DefaultTableCellRenderer와 같이 불필요한 변경 통지 생략
+        @Override public void validate() {}
+        @Override public void invalidate() {}
+        @Override public void revalidate() {}
+        @Override public void repaint(long tm, int x, int y, int width, int height) {}
+        @Override protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {}
+    }
+
     static class ButtonRenderer extends JButton implements TableCellRenderer {
         ButtonRenderer() { setText("접속"); setFocusPainted(false); }
         @Override public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) { return this; }
@@ -501,6 +820,7 @@ public class HttpConnector_V4 extends JFrame {
     class ButtonEditor extends DefaultCellEditor {
         private final JButton button = new JButton("접속");
         private String ip;
+        private int port;
         public ButtonEditor(JCheckBox checkBox) {
             super(checkBox);
             button.setFocusPainted(false);
@@ -510,70 +830,16 @@ public class HttpConnector_V4 extends JFrame {
         public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
             int modelRow = table.convertRowIndexToModel(row);
             this.ip = tableModel.ipAt(modelRow);
+            this.port = tableModel.portAt(modelRow);
             return button;
         }
         @Override
         public Object getCellEditorValue() {
-            openInBrowser(ip);
+            openInBrowser(ip, port);
             return "접속";
         }
     }
 
-    // ===== Data & Utils =====
-    static class ScanResult { final String ip; boolean isCamera; ScanResult(String ip, boolean isCamera) { this.ip = ip; this.isCamera = isCamera; } }
-
-    static class Util {
-        static long ipToLong(String ipOrDisplay) {
-            String ip = ipOrDisplay;
-            int idx = ip.indexOf(' ');
-            if (idx > 0) ip = ip.substring(0, idx);
-            String[] parts = ip.split("\\.");
-            if (parts.length != 4) return 0L;
-            long v = 0;
-            try { for (String p : parts) { v = (v << 8) + Integer.parseInt(p); } }
-            catch (NumberFormatException e) { return 0L; }
-            return v;
-        }
-    }
-
-    static class RangeParser {
-        private static final Pattern EXACT = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
-        private static final Pattern BASE = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
-        private static final Pattern STAR = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.\\*$");
-        private static final Pattern RANGE = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})-(\\d{1,3})$");
-        private static final Pattern CIDR24 = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.\\d{1,3}/24$");
-
-        static List<String> parseTargets(String input) {
-            input = input.trim();
-            Matcher m;
-            m = EXACT.matcher(input);
-            if (m.matches()) { String ip = four(m); validateOctets(ip); return Collections.singletonList(ip); }
-            m = BASE.matcher(input);
-            if (m.matches()) { String prefix = three(m); validateThree(prefix); return range(prefix, 1, 254); }
-            m = STAR.matcher(input);
-            if (m.matches()) { String prefix = three(m); validateThree(prefix); return range(prefix, 1, 254); }
-            m = RANGE.matcher(input);
-            if (m.matches()) {
-                String prefix = m.group(1) + "." + m.group(2) + "." + m.group(3);
-                int start = Integer.parseInt(m.group(4));
-                int end = Integer.parseInt(m.group(5));
-                validateThree(prefix);
-                if (start < 0 || start > 255 || end < 0 || end > 255 || start > end)
-                    throw new IllegalArgumentException("마지막 옥텟 범위가 올바르지 않습니다.");
-                return range(prefix, start, end);
-            }
-            m = CIDR24.matcher(input);
-            if (m.matches()) { String prefix = three(m); validateThree(prefix); return range(prefix, 1, 254); }
-            throw new IllegalArgumentException("지원 형식: 'a.b.c', 'a.b.c.*', 'a.b.c.d', 'a.b.c.d-e', 'a.b.c.x/24'");
-        }
-        private static String four(Matcher m) { return m.group(1) + "." + m.group(2) + "." + m.group(3) + "." + m.group(4); }
-        private static String three(Matcher m) { return m.group(1) + "." + m.group(2) + "." + m.group(3); }
-        private static void validateThree(String prefix) { String[] p = prefix.split("\\."); if (p.length != 3) throw new IllegalArgumentException("입력 오류"); for (String s : p) validateOctet(s); }
-        private static void validateOctets(String ip) { String[] parts = ip.split("\\."); if (parts.length != 4) throw new IllegalArgumentException("입력 오류"); for (String s : parts) validateOctet(s); }
-        private static void validateOctet(String s) { int v = Integer.parseInt(s); if (v < 0 || v > 255) throw new IllegalArgumentException("옥텟 범위(0~255) 위반: " + v); }
-        private static List<String> range(String prefix, int start, int end) { List<String> list = new ArrayList<>(Math.max(0, end - start + 1)); for (int i = start; i <= end; i++) list.add(prefix + "." + i); return list; }
-    }
-
     private void applyModernUI() {
         try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception ignore) {}
         // 폰트 톤 조정(조심스럽게)
@@ -8,8 +8,6 @@ import javax.swing.event.DocumentListener;
 import javax.swing.table.*;
 import java.awt.*;
 import java.net.*;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.*;
 
 public class HttpConnector_v3 extends JFrame {
@@ -19,20 +17,7 @@ public class HttpConnector_v3 extends JFrame {
     private DefaultTableModel tableModel;
     private TableRowSorter<DefaultTableModel> rowSorter;
 
-    private Map<String, String> ipToMacMap = new HashMap<String, String>() {{
-        put("192.168.0.7", " 4A-06");
-        put("192.168.0.9", " 03-02");
-        put("192.168.0.11", " A7-E0");
-        put("192.168.0.12", " A7-D6");
-        put("192.168.0.15", " 92-B1");
-        put("192.168.0.17", " 30-2A");
-        put("192.168.0.18", " AB-FF");
-        put("192.168.0.19", " 12-4C");
-        put("192.168.0.20", " 4A-86");
-        put("192.168.0.21", " 36-37");
-        put("192.168.0.22", " 4A-7F");
-        put("192.168.0.23", " 4A-27");
-    }};
+    private final NeighborTable neighbors = NeighborTable.system(); // OS ARP 캐시 (MAC 끝 두 바이트만 표시)
 
 
     public HttpConnector_v3() {
@@ -143,10 +128,11 @@ public class HttpConnector_v3 extends JFrame {
             executor.execute(() -> {
                 boolean isCamera = isCamera(ip);
                 if (isCamera) {
+                    String mac = macSuffix(ip);
                     SwingUtilities.invokeLater(() -> {
                         String displayIp = ip;
-                        if (ipToMacMap.containsKey(ip)) {
-                            displayIp += "  (" + ipToMacMap.get(ip) + ")";
+                        if (mac != null) {
+                            displayIp += "  ( " + mac + ")";
                         }
                         tableModel.addRow(new Object[]{
                                 displayIp,
@@ -163,6 +149,16 @@ public class HttpConnector_v3 extends JFrame {
     }
 
 
+    // ARP 캐시의 MAC 끝 두 바이트 (없거나 IP 형식이 아니면 null)
+    private String macSuffix(String ip) {
+        try {
+            String mac = neighbors.macOf(Ipv4.parse(ip));
+            return mac == null ? null : mac.substring(mac.length() - 5);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     // 네트워크 스캔
 //    private void scanNetwork() {
 //        tableModel.setRowCount(0); // 초기화
@@ -0,0 +1,55 @@
+package httpconnector;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * IPv4 주소 ↔ int 변환 (상위 옥텟이 최상위 바이트, 비교는 Integer.compareUnsigned)
+ * - 스캔 경로에서는 int로만 다루고 문자열은 결과 표시/TLS 호스트명 등 꼭 필요할 때만 생성
+ */
+final class Ipv4 {
+    private Ipv4() {}
+
+    static String format(int ip) {
+        return ((ip >>> 24) & 0xFF) + "." + ((ip >>> 16) & 0xFF) + "." + ((ip >>> 8) & 0xFF) + "." + (ip & 0xFF);
+    }
+
+    /** 할당 없이 buf(15자 이상)에 'a.b.c.d'를 쓰고 길이 반환 (필터 등 반복 비교용) */
+    static int format(int ip, char[] buf) {
+        int n = 0;
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            int o = (ip >>> shift) & 0xFF;
+            if (o >= 100) buf[n++] = (char) ('0' + o / 100);
+            if (o >= 10) buf[n++] = (char) ('0' + o / 10 % 10);
+            buf[n++] = (char) ('0' + o % 10);
+            if (shift > 0) buf[n++] = '.';
+        }
+        return n;
+    }
+
+    /** 'a.b.c.d' 엄격 파싱 (DNS 조회 없음) */
+    static int parse(String s) {
+        int v = 0, octet = -1, parts = 0;
+        for (int i = 0, n = s.length(); i <= n; i++) {
+            char c = i < n ? s.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) throw new IllegalArgumentException("옥텟 범위(0~255) 위반: " + s);
+            } else if (c == '.' && octet >= 0 && parts < 4) {
+                v = (v << 8) | octet; octet = -1; parts++;
+            } else {
+                throw new IllegalArgumentException("IP 형식 오류: " + s);
+            }
+        }
+        if (parts != 4) throw new IllegalArgumentException("IP 형식 오류: " + s);
+        return v;
+    }
+
+    static InetAddress toInetAddress(int ip) {
+        try {
+            return InetAddress.getByAddress(new byte[] {(byte) (ip >>> 24), (byte) (ip >>> 16), (byte) (ip >>> 8), (byte) ip});
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e); // 4바이트 주소에서는 발생하지 않음
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package httpconnector;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 지연 시간 히스토그램 (잠금 없음, 나노초 단위)
+ * - 로그-선형 버킷: 2의 거듭제곱 구간마다 32칸 → 상대 오차 약 3%, 범위 0ns ~ Long.MAX_VALUE, 버킷 1888개 고정
+ * - record()는 여러 스레드(NIO selector, 풀 스레드)에서 동시에 호출 가능, 조회는 근사값(기록 중인 값은 빠질 수 있음)
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 5, SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong(), sum = new AtomicLong(), max = new AtomicLong();
+
+    void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(index(v));
+        total.incrementAndGet();
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    long count() { return total.get(); }
+    long maxNanos() { return max.get(); }
+    double meanNanos() { long n = total.get(); return n == 0 ? 0 : (double) sum.get() / n; }
+
+    /** p(0~100) 백분위 값 (해당 버킷의 상한), 기록이 없으면 0 */
+    long percentileNanos(double p) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * p / 100.0)), seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /** "p50 1.2ms · p90 3.4ms · p99 8.0ms · max 12.1ms" */
+    String summary() {
+        return String.format("p50 %.1fms · p90 %.1fms · p99 %.1fms · max %.1fms",
+                percentileNanos(50) / 1e6, percentileNanos(90) / 1e6, percentileNanos(99) / 1e6, maxNanos() / 1e6);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0); sum.set(0); max.set(0);
+    }
+
+    private static int index(long v) {
+        int msb = 63 - Long.numberOfLeadingZeros(v | 1);
+        if (msb < SUB_BITS) return (int) v;
+        int shift = msb - SUB_BITS;
+        return (shift + 1) * SUB + (int) ((v >>> shift) - SUB);
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB) return index;
+        int shift = index / SUB - 1;
+        long sub = index % SUB + SUB;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,138 @@
+package httpconnector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * IP → MAC 이웃 테이블 (OS ARP 캐시)
+ * - 원본: -Dscan.arp.file 경로(테스트용 덤프 등) → 없으면 /proc/net/arp → 그것도 없고 Windows면 'arp -a' 출력
+ * - 두 형식 모두 한 줄에서 IPv4 토큰과 MAC 토큰을 찾아 파싱 (불완전/브로드캐스트/멀티캐스트 항목 제외), MAC은 "6C-1C-71-0C-4A-06" 형식으로 통일
+ * - TTL(-Dscan.arp.ttl, 기본 2초)이 지나면 다시 읽어 바뀐 항목만 반영 (추가/변경/삭제), 파일 원본은 크기·수정 시각이 같으면 파싱 생략
+ * - macOf()는 막히지 않음: 만료됐으면 백그라운드에서 갱신하고 현재 값 반환 (NIO selector/EDT에서 호출해도 안전)
+ */
+final class NeighborTable {
+    static final long DEFAULT_TTL_MS = Long.getLong("scan.arp.ttl", 2000);
+    private static final Path PROC_ARP = Paths.get("/proc/net/arp");
+    private static final Pattern MAC = Pattern.compile("[0-9A-Fa-f]{2}([:-][0-9A-Fa-f]{2}){5}");
+
+    private final Path file; // null이면 'arp -a'
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Integer, String> macs = new ConcurrentHashMap<>();
+    private final ReentrantLock loading = new ReentrantLock();
+    private final AtomicBoolean asyncRefresh = new AtomicBoolean();
+    private volatile long loadedAt;
+    private volatile boolean loaded;
+    private long lastSize = -1, lastModified = -1;
+
+    NeighborTable(Path file, long ttlMs) {
+        this.file = file;
+        this.ttlNanos = ttlMs * 1_000_000L;
+    }
+
+    /** 설정/플랫폼에 맞는 원본 선택 (원본이 없으면 항상 빈 테이블) */
+    static NeighborTable system() {
+        String configured = System.getProperty("scan.arp.file");
+        if (configured != null) return new NeighborTable(Paths.get(configured), DEFAULT_TTL_MS);
+        if (Files.isReadable(PROC_ARP)) return new NeighborTable(PROC_ARP, DEFAULT_TTL_MS);
+        boolean windows = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+        return new NeighborTable(windows ? null : PROC_ARP, DEFAULT_TTL_MS);
+    }
+
+    /** 캐시된 MAC (없으면 null). 만료됐으면 비동기 갱신만 걸고 바로 반환 */
+    String macOf(int ip) {
+        if (stale() && asyncRefresh.compareAndSet(false, true)) {
+            Thread t = new Thread(() -> { try { ensureFresh(); } finally { asyncRefresh.set(false); } }, "arp-refresh");
+            t.setDaemon(true);
+            t.start();
+        }
+        return macs.get(ip);
+    }
+
+    /** 만료됐으면 지금 스레드에서 다시 읽음 (스캔 시작 시 등 백그라운드 스레드용) */
+    void ensureFresh() {
+        if (!stale()) return;
+        loading.lock();
+        try {
+            if (stale()) reload();
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    /** 알려진 호스트 IP (부호 없는 오름차순) */
+    int[] knownHosts() {
+        int[] ips = macs.keySet().stream().mapToInt(i -> i ^ Integer.MIN_VALUE).toArray();
+        Arrays.sort(ips); // 부호 비트를 뒤집어 정렬 = 부호 없는 정렬
+        for (int i = 0; i < ips.length; i++) ips[i] ^= Integer.MIN_VALUE;
+        return ips;
+    }
+
+    int size() { return macs.size(); }
+
+    private boolean stale() { return !loaded || System.nanoTime() - loadedAt > ttlNanos; }
+
+    private void reload() {
+        try {
+            if (file == null) {
+                Process p = new ProcessBuilder("arp", "-a").redirectErrorStream(true).start();
+                try (Reader r = new InputStreamReader(p.getInputStream(), Charset.defaultCharset())) { apply(parse(r)); }
+            } else if (Files.isReadable(file)) {
+                long size = Files.size(file), modified = Files.getLastModifiedTime(file).toMillis();
+                // /proc 파일은 크기 0·수정 시각 갱신이 없으므로 항상 파싱
+                if (size == 0 || size != lastSize || modified != lastModified) {
+                    try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) { apply(parse(r)); }
+                    lastSize = size; lastModified = modified;
+                }
+            } else {
+                macs.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("ARP table read failed: " + e.getMessage()); // 이전 값 유지
+        }
+        loadedAt = System.nanoTime();
+        loaded = true;
+    }
+
+    // 바뀐 항목만 갱신 → 조회 중인 스레드는 항상 완전한 값을 봄
+    private void apply(Map<Integer, String> fresh) {
+        macs.keySet().retainAll(fresh.keySet());
+        fresh.forEach((ip, mac) -> { if (!mac.equals(macs.get(ip))) macs.put(ip, mac); });
+    }
+
+    static Map<Integer, String> parse(Reader in) throws IOException {
+        Map<Integer, String> out = new HashMap<>();
+        BufferedReader br = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        for (String line; (line = br.readLine()) != null; ) {
+            Integer ip = null; String mac = null;
+            for (String tok : line.trim().split("\\s+")) {
+                if (ip == null && !tok.isEmpty() && Character.isDigit(tok.charAt(0))) {
+                    try { ip = Ipv4.parse(tok); continue; } catch (IllegalArgumentException ignore) { /* IP 아님 */ }
+                }
+                if (mac == null && MAC.matcher(tok).matches()) mac = tok.replace(':', '-').toUpperCase(Locale.ROOT);
+            }
+            if (ip != null && mac != null && usable(mac)) out.put(ip, mac);
+        }
+        return out;
+    }
+
+    // 불완전(00-..), 브로드캐스트(FF-..), 멀티캐스트(첫 바이트 최하위 비트) 제외
+    private static boolean usable(String mac) {
+        if (mac.equals("00-00-00-00-00-00")) return false;
+        return (Integer.parseInt(mac.substring(0, 2), 16) & 1) == 0;
+    }
+}
@@ -0,0 +1,402 @@
+package httpconnector;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Selector 기반 논블로킹 TCP 연결 엔진
+ * - selector 스레드 1개가 수천 개의 connect를 동시에 진행 (대상당 스레드 점유 없음)
+ * - 동시 진행 수는 maxInFlight로 제한 (fd 한도 보호), 초과 시 connect() 호출자가 대기
+ * - 결과는 Listener로 전달 — selector 스레드에서 호출되므로 가볍게 처리할 것
+ * - connect(): OPEN이면 연결된 채널(블로킹 모드)을 그대로 넘김, 닫는 책임은 Listener
+ * - handshake(): 연결 후 같은 selector 루프에서 SSLEngine 핸드셰이크까지 진행하고 TLS 결과를 통지
+ *   (인증서 검증 등 위임 작업만 소수의 task 스레드에서 실행)
+ *   · ClientHello 생성(키 교환)은 selector 스레드의 CPU 작업 → 동시 핸드셰이크는 connect 창과 별도로 tlsLimit개까지,
+ *     나머지는 연결된 채로 대기열에서 차례를 기다림 (한 루프에서 키 생성이 몰려 connect 완료 감지·RTT 표본이 밀리지 않게)
+ *   · 핸드셰이크 마감과 RTT 표본은 ClientHello를 보낸 뒤부터 → 다른 핸드셰이크 뒤에서 기다린 시간은 타임아웃에 들어가지 않음
+ * - 등록 시 받은 Handle로 개별 취소 가능 (CANCELLED로 통지)
+ * - RttEstimator를 주면 연결(SYN-ACK/RST)·TLS 응답까지 걸린 시간을 표본으로 보고
+ * - 단계마다 JFR ProbeEvent (녹화 중일 때만)
+ */
+final class NioConnectEngine implements Closeable {
+
+    interface Listener {
+        /** channel은 connect()의 OPEN일 때만 non-null (블로킹 모드, 소유권 이전) */
+        void onResult(int ip, int port, ProbeOutcome outcome, SocketChannel channel);
+    }
+
+    /** 진행 중인 프로브 하나 — cancel()은 아무 스레드에서나 호출 가능 */
+    interface Handle { void cancel(); }
+
+    private static final int PHASE_CONNECT = 0, PHASE_TLS = 1, PHASE_TLS_QUEUED = 2;
+    static final int TLS_LIMIT = Math.max(1, Integer.getInteger("scan.nio.tls", Math.max(16, Runtime.getRuntime().availableProcessors() * 8)));
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final Selector selector;
+    private final Semaphore window;
+    private final ConcurrentLinkedQueue<Pending> submissions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Pending> resumed = new ConcurrentLinkedQueue<>(); // 위임 작업 완료 → 핸드셰이크 재개
+    private final ConcurrentLinkedQueue<Pending> cancellations = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>((a, b) -> Long.compare(a.at, b.at)); // selector 스레드 전용
+    private final List<Pending> opened = new ArrayList<>(); // selector 스레드 전용
+    private final ArrayDeque<Pending> tlsQueue = new ArrayDeque<>(); // 연결됐고 핸드셰이크 차례를 기다림, selector 스레드 전용
+    private final int tlsLimit;
+    private int tlsActive; // selector 스레드 전용
+    private final ExecutorService tasks;
+    private final RttEstimator rtt; // null이면 표본 수집 안 함
+    private final Thread loop;
+    private SSLContext sslContext; // handshake() 첫 호출 시 초기화
+    private volatile boolean closed;
+
+    private final class Pending implements Handle {
+        final int ip; final int port; final int timeoutMs; final int handshakeTimeoutMs; final Listener listener;
+        SocketChannel channel; SelectionKey key; int phase; long phaseStart; boolean finished, helloSent;
+        ProbeEvent jfr; // 현재 단계의 JFR 이벤트 (녹화 중이 아니면 null)
+        volatile boolean cancelRequested;
+        SSLEngine ssl; ByteBuffer netIn, netOut, appIn;
+        Pending(int ip, int port, int timeoutMs, int handshakeTimeoutMs, Listener listener) {
+            this.ip = ip; this.port = port; this.timeoutMs = timeoutMs; this.handshakeTimeoutMs = handshakeTimeoutMs; this.listener = listener;
+        }
+        boolean wantsTls() { return handshakeTimeoutMs > 0; }
+        @Override public void cancel() { cancelRequested = true; cancellations.add(this); selector.wakeup(); }
+    }
+
+    // 단계별 마감 시각 (힙 안의 키를 바꾸지 않도록 단계마다 새 항목)
+    private static final class Deadline {
+        final long at; final Pending p; final int phase;
+        Deadline(long at, Pending p, int phase) { this.at = at; this.p = p; this.phase = phase; }
+        boolean stale() { return p.finished || p.phase != phase; }
+    }
+
+    NioConnectEngine(int maxInFlight) throws IOException {
+        this(maxInFlight, null);
+    }
+
+    NioConnectEngine(int maxInFlight, RttEstimator rtt) throws IOException {
+        this(maxInFlight, rtt, TLS_LIMIT);
+    }
+
+    /** tlsLimit: 동시에 진행하는 TLS 핸드셰이크 수 (-Dscan.nio.tls) */
+    NioConnectEngine(int maxInFlight, RttEstimator rtt, int tlsLimit) throws IOException {
+        this.rtt = rtt;
+        this.tlsLimit = Math.max(1, tlsLimit);
+        this.selector = Selector.open();
+        this.window = new Semaphore(maxInFlight);
+        this.tasks = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "nio-tls-task");
+            t.setDaemon(true);
+            return t;
+        });
+        this.loop = new Thread(this::runLoop, "nio-connect");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    /** 연결 시도를 등록. 진행 중 연결이 maxInFlight에 도달하면 자리가 날 때까지 대기 */
+    Handle connect(int ip, int port, int timeoutMs, Listener listener) throws InterruptedException {
+        return submit(new Pending(ip, port, timeoutMs, 0, listener));
+    }
+
+    /** 연결 + TLS 핸드셰이크. 연결 실패는 CLOSED/TIMEOUT, 이후는 TLS 결과로 통지 (채널은 엔진이 닫음) */
+    Handle handshake(int ip, int port, int connectTimeoutMs, int handshakeTimeoutMs, Listener listener) throws InterruptedException {
+        if (handshakeTimeoutMs <= 0) throw new IllegalArgumentException("handshakeTimeoutMs must be > 0");
+        synchronized (this) {
+            if (sslContext == null) {
+                try { sslContext = SSLContext.getDefault(); }
+                catch (NoSuchAlgorithmException e) { throw new IllegalStateException("TLS unavailable", e); }
+            }
+        }
+        return submit(new Pending(ip, port, connectTimeoutMs, handshakeTimeoutMs, listener));
+    }
+
+    private Pending submit(Pending p) throws InterruptedException {
+        if (closed) throw new IllegalStateException("engine closed");
+        window.acquire();
+        submissions.add(p);
+        selector.wakeup();
+        return p;
+    }
+
+    /** 진행 중인 연결을 모두 닫고 selector 스레드 종료 (미완료 건은 결과 통지 없음) */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        selector.wakeup();
+        tasks.shutdownNow();
+        try { loop.join(1000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    private void runLoop() {
+        try {
+            while (!closed) {
+                registerSubmissions();
+                resumeHandshakes();
+                processCancellations();
+                startQueuedHandshakes();
+                long wait = 0;
+                Deadline head = peekLive();
+                if (head != null) wait = Math.max(1, head.at - System.currentTimeMillis());
+                selector.select(wait);
+                if (closed) break;
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Pending p = (Pending) key.attachment();
+                    if (!key.isValid() || p.finished) continue;
+                    if (p.cancelRequested) { finish(p, ProbeOutcome.CANCELLED); continue; } // ClientHello 생성(키 교환)은 건당 수 ms → 취소된 건은 건너뜀
+                    if (p.phase == PHASE_TLS) { drive(p); continue; }
+                    try {
+                        if (p.channel.finishConnect()) { connectSample(p); onConnected(p); }
+                    } catch (ConnectException e) {
+                        connectSample(p); // RST 응답도 왕복 시간 표본
+                        finish(p, ProbeOutcome.CLOSED);
+                    } catch (IOException e) {
+                        finish(p, ProbeOutcome.CLOSED);
+                    }
+                }
+                handOffOpened();
+                expireTimeouts();
+            }
+        } catch (IOException e) {
+            System.err.println("Selector error: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) closeQuietly((SocketChannel) key.channel());
+            for (Pending p : opened) closeQuietly(p.channel);
+            closeQuietly(selector);
+            for (Pending p; (p = submissions.poll()) != null; ) window.release();
+        }
+    }
+
+    private void registerSubmissions() {
+        for (Pending p; (p = submissions.poll()) != null; ) {
+            if (p.cancelRequested) { finish(p, ProbeOutcome.CANCELLED); continue; }
+            try {
+                p.channel = SocketChannel.open();
+                p.channel.configureBlocking(false);
+                p.key = p.channel.register(selector, SelectionKey.OP_CONNECT, p);
+                p.phaseStart = System.nanoTime();
+                p.jfr = ProbeEvent.begin(p.ip, p.port, ProbeEvent.CONNECT);
+                deadlines.add(new Deadline(System.currentTimeMillis() + p.timeoutMs, p, PHASE_CONNECT));
+                if (p.channel.connect(new InetSocketAddress(Ipv4.toInetAddress(p.ip), p.port))) onConnected(p);
+            } catch (IOException | RuntimeException e) {
+                finish(p, ProbeOutcome.CLOSED); // 주소 오류, 라우팅 불가 등
+            }
+        }
+    }
+
+    private void onConnected(Pending p) {
+        ProbeEvent.end(p.jfr, ProbeOutcome.OPEN);
+        p.jfr = null;
+        if (!p.wantsTls()) { p.key.cancel(); opened.add(p); return; }
+        p.key.interestOps(0);
+        p.phase = PHASE_TLS_QUEUED; // 연결 마감은 이걸로 무효, 대기 중에는 마감 없음 (취소는 가능)
+        tlsQueue.add(p);
+    }
+
+    // 자리가 나는 만큼 대기열의 핸드셰이크 시작 (루프마다 한 번, finish() 안에서 재귀하지 않도록)
+    private void startQueuedHandshakes() {
+        for (Pending p; tlsActive < tlsLimit && (p = tlsQueue.poll()) != null; ) {
+            if (!p.finished && !p.cancelRequested) startTls(p);
+        }
+    }
+
+    private void startTls(Pending p) {
+        tlsActive++;
+        SSLEngine ssl = sslContext.createSSLEngine(Ipv4.format(p.ip), p.port); // 호스트명 검증용 문자열은 열린 포트에서만 생성
+        ssl.setUseClientMode(true);
+        SSLParameters params = ssl.getSSLParameters();
+        params.setEndpointIdentificationAlgorithm("HTTPS"); // HttpsURLConnection과 동일한 호스트명 검증
+        ssl.setSSLParameters(params);
+        p.ssl = ssl;
+        p.netIn = ByteBuffer.allocate(ssl.getSession().getPacketBufferSize());
+        p.netOut = ByteBuffer.allocate(ssl.getSession().getPacketBufferSize());
+        p.netOut.flip(); // 읽기 모드(보낼 것 없음)로 시작
+        p.appIn = ByteBuffer.allocate(ssl.getSession().getApplicationBufferSize());
+        p.phase = PHASE_TLS;
+        p.phaseStart = System.nanoTime();
+        p.jfr = ProbeEvent.begin(p.ip, p.port, ProbeEvent.TLS);
+        try {
+            ssl.beginHandshake();
+        } catch (SSLException e) {
+            finish(p, ProbeOutcome.classify(e));
+            return;
+        }
+        drive(p);
+    }
+
+    // 핸드셰이크 상태 기계: 더 진행할 수 없으면 필요한 관심 이벤트(OP_READ/OP_WRITE)만 걸고 반환
+    private void drive(Pending p) {
+        SSLEngine ssl = p.ssl;
+        try {
+            for (;;) {
+                if (p.netOut.hasRemaining()) {
+                    p.channel.write(p.netOut);
+                    if (!p.helloSent) helloSent(p); // 첫 전송 = ClientHello (키 생성은 이미 끝남)
+                    if (p.netOut.hasRemaining()) { p.key.interestOps(SelectionKey.OP_WRITE); return; }
+                }
+                HandshakeStatus hs = ssl.getHandshakeStatus();
+                switch (hs) {
+                    case NEED_WRAP: {
+                        p.netOut.clear();
+                        SSLEngineResult r = ssl.wrap(EMPTY, p.netOut);
+                        p.netOut.flip();
+                        if (r.getHandshakeStatus() == HandshakeStatus.FINISHED) { finish(p, ProbeOutcome.TRUSTED); return; }
+                        if (r.getStatus() == SSLEngineResult.Status.CLOSED) { finish(p, ProbeOutcome.RESET); return; }
+                        break;
+                    }
+                    case NEED_UNWRAP:
+                    case NEED_UNWRAP_AGAIN: {
+                        p.netIn.flip();
+                        SSLEngineResult r = ssl.unwrap(p.netIn, p.appIn);
+                        p.netIn.compact();
+                        p.appIn.clear();
+                        if (r.getHandshakeStatus() == HandshakeStatus.FINISHED) { finish(p, ProbeOutcome.TRUSTED); return; }
+                        switch (r.getStatus()) {
+                            case BUFFER_UNDERFLOW:
+                                if (!p.netIn.hasRemaining()) p.netIn = grow(p.netIn, ssl.getSession().getPacketBufferSize());
+                                int n = p.channel.read(p.netIn);
+                                if (n < 0) { finish(p, ProbeOutcome.RESET); return; }
+                                if (n == 0) { p.key.interestOps(SelectionKey.OP_READ); return; }
+                                break;
+                            case BUFFER_OVERFLOW:
+                                p.appIn = ByteBuffer.allocate(ssl.getSession().getApplicationBufferSize());
+                                break;
+                            case CLOSED:
+                                finish(p, ProbeOutcome.RESET);
+                                return;
+                            default:
+                                break;
+                        }
+                        break;
+                    }
+                    case NEED_TASK:
+                        p.key.interestOps(0);
+                        tasks.execute(() -> {
+                            for (Runnable task; (task = ssl.getDelegatedTask()) != null; ) task.run();
+                            resumed.add(p);
+                            selector.wakeup();
+                        });
+                        return;
+                    default: // FINISHED, NOT_HANDSHAKING
+                        finish(p, ProbeOutcome.TRUSTED);
+                        return;
+                }
+            }
+        } catch (SSLException e) {
+            finish(p, ProbeOutcome.classify(e));
+        } catch (IOException e) {
+            finish(p, ProbeOutcome.RESET);
+        } catch (RuntimeException e) {
+            finish(p, ProbeOutcome.RESET); // 위임 작업 거부(엔진 종료) 등
+        }
+    }
+
+    // ClientHello 전송 시작 → 여기서부터 서버 응답을 기다리는 시간만 마감/RTT 표본에 포함
+    private void helloSent(Pending p) {
+        p.helloSent = true;
+        p.phaseStart = System.nanoTime();
+        deadlines.add(new Deadline(System.currentTimeMillis() + p.handshakeTimeoutMs, p, PHASE_TLS));
+    }
+
+    // 아직 등록 전(channel == null)이면 registerSubmissions()가 cancelRequested를 보고 처리
+    private void processCancellations() {
+        for (Pending p; (p = cancellations.poll()) != null; ) {
+            if (!p.finished && p.channel != null) finish(p, ProbeOutcome.CANCELLED);
+        }
+    }
+
+    private void resumeHandshakes() {
+        for (Pending p; (p = resumed.poll()) != null; ) {
+            if (!p.finished && !p.cancelRequested) drive(p);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buf, int extra) {
+        ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() + extra);
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+
+    // 취소된 키를 selectNow()로 정리해야 블로킹 모드 전환이 가능 → 모아서 한 번에 넘김
+    private void handOffOpened() throws IOException {
+        if (opened.isEmpty()) return;
+        selector.selectNow();
+        for (Pending p : opened) {
+            if (p.finished) continue; // 넘기기 전에 취소됨
+            p.finished = true;
+            window.release();
+            try {
+                p.channel.configureBlocking(true);
+                p.listener.onResult(p.ip, p.port, ProbeOutcome.OPEN, p.channel);
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(p.channel);
+                System.err.println("Listener error: " + e.getMessage());
+            }
+        }
+        opened.clear();
+    }
+
+    private void expireTimeouts() {
+        long now = System.currentTimeMillis();
+        for (Deadline d; (d = deadlines.peek()) != null && (d.stale() || d.at <= now); ) {
+            deadlines.poll();
+            if (!d.stale()) finish(d.p, d.phase == PHASE_TLS ? ProbeOutcome.HANDSHAKE_TIMEOUT : ProbeOutcome.TIMEOUT);
+        }
+    }
+
+    // 완료/단계 전환된 항목은 힙에서 즉시 제거하지 않고(O(n)) 맨 앞에 올 때 버림
+    private Deadline peekLive() {
+        Deadline d;
+        while ((d = deadlines.peek()) != null && d.stale()) deadlines.poll();
+        return d;
+    }
+
+    private void connectSample(Pending p) {
+        if (rtt != null) rtt.connectSample(p.ip, System.nanoTime() - p.phaseStart);
+    }
+
+    private void finish(Pending p, ProbeOutcome outcome) {
+        if (p.phase == PHASE_TLS && !p.finished) tlsActive--;
+        if (rtt != null && p.phase == PHASE_TLS && p.helloSent && outcome.isTlsVerdict()) {
+            rtt.handshakeSample(p.ip, System.nanoTime() - p.phaseStart);
+        }
+        ProbeEvent.end(p.jfr, outcome);
+        p.jfr = null;
+        p.finished = true;
+        closeQuietly(p.channel);
+        window.release();
+        try { p.listener.onResult(p.ip, p.port, outcome, null); }
+        catch (RuntimeException e) { System.err.println("Listener error: " + e.getMessage()); }
+    }
+
+    private static void closeQuietly(Closeable c) {
+        if (c == null) return;
+        try { c.close(); } catch (IOException ignore) { /* ignore */ }
+    }
+}
@@ -0,0 +1,105 @@
+package httpconnector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * MAC 앞 3바이트(OUI) → 제조사 색인
+ * - 번들 목록 oui.txt(클래스와 같은 패키지) + -Dscan.oui.file 추가 목록, 한 줄에 "OUI 제조사 camera|other"
+ * - 정렬된 int[] 이진 탐색 → 제조사 id(short), 이름/카메라 여부는 id별 배열 (조회 시 할당 없음)
+ * - 카메라 제조사로 확인된 호스트는 TLS 핸드셰이크 없이 TCP 열림만 확인 (VENDOR_CAMERA)
+ */
+final class OuiIndex {
+    private final int[] prefixes;     // 24비트 OUI, 오름차순
+    private final short[] vendorOf;   // prefixes와 같은 순서
+    private final String[] vendors;
+    private final boolean[] camera;
+
+    private static final class Holder { static final OuiIndex SHARED = load(); }
+
+    static OuiIndex shared() { return Holder.SHARED; }
+
+    private OuiIndex(TreeMap<Integer, String[]> entries) {
+        prefixes = new int[entries.size()];
+        vendorOf = new short[entries.size()];
+        List<String> names = new ArrayList<>();
+        List<Boolean> kinds = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Integer, String[]> e : entries.entrySet()) {
+            int id = names.indexOf(e.getValue()[0]);
+            if (id < 0) { id = names.size(); names.add(e.getValue()[0]); kinds.add("camera".equals(e.getValue()[1])); }
+            prefixes[i] = e.getKey();
+            vendorOf[i++] = (short) id;
+        }
+        vendors = names.toArray(new String[0]);
+        camera = new boolean[vendors.length];
+        for (int v = 0; v < camera.length; v++) camera[v] = kinds.get(v);
+    }
+
+    /** 제조사 id (모르는 OUI/MAC 없음이면 -1) */
+    int vendorId(String mac) {
+        int oui = prefixOf(mac);
+        if (oui < 0) return -1;
+        int at = Arrays.binarySearch(prefixes, oui);
+        return at < 0 ? -1 : vendorOf[at];
+    }
+
+    String vendor(int id) { return id < 0 ? null : vendors[id]; }
+    boolean isCamera(int id) { return id >= 0 && camera[id]; }
+    boolean isCameraMac(String mac) { return isCamera(vendorId(mac)); }
+    int vendorCount() { return vendors.length; }
+
+    // "6C-1C-71-.." / "6c:1c:71:.." → 0x6C1C71
+    private static int prefixOf(String mac) {
+        if (mac == null || mac.length() < 8) return -1;
+        int v = 0;
+        for (int i = 0; i < 8; i++) {
+            if (i % 3 == 2) continue;
+            int d = Character.digit(mac.charAt(i), 16);
+            if (d < 0) return -1;
+            v = (v << 4) | d;
+        }
+        return v;
+    }
+
+    private static OuiIndex load() {
+        TreeMap<Integer, String[]> entries = new TreeMap<>();
+        try (InputStream in = OuiIndex.class.getResourceAsStream("oui.txt")) {
+            if (in != null) read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), entries);
+            else System.err.println("OUI list not found on classpath: httpconnector/oui.txt (vendor lookup disabled unless -Dscan.oui.file is set)");
+        } catch (IOException e) {
+            System.err.println("OUI list read failed: " + e.getMessage());
+        }
+        String extra = System.getProperty("scan.oui.file");
+        if (extra != null) {
+            try (BufferedReader r = Files.newBufferedReader(Paths.get(extra), StandardCharsets.UTF_8)) { read(r, entries); }
+            catch (IOException e) { System.err.println("OUI list read failed: " + extra + " " + e.getMessage()); }
+        }
+        return new OuiIndex(entries);
+    }
+
+    // 형식이 맞지 않는 줄은 건너뜀 (OUI는 "6C1C71", "6C-1C-71", "6c:1c:71" 모두 허용)
+    private static void read(BufferedReader r, TreeMap<Integer, String[]> entries) throws IOException {
+        for (String line; (line = r.readLine()) != null; ) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) continue;
+            String hex = parts[0].replace("-", "").replace(":", "");
+            if (hex.length() != 6) continue;
+            try {
+                entries.put(Integer.parseInt(hex, 16), new String[] {parts[1], parts.length > 2 ? parts[2] : "other"});
+            } catch (NumberFormatException ignore) { /* 잘못된 OUI */ }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package httpconnector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 루프백 판정 확인: 같은 상대에 대해 NIO 경로와 블로킹 경로(pool/virtual, scanOne)가 같은 ProbeOutcome을 내는지
+ * - 닫힌 포트 → CLOSED, 수락 후 바로 close → RESET, ClientHello를 읽고 RST(linger 0) → RESET
+ * - ScanScheduler에 실제 블로킹 프로브 결과를 한 라운드씩 넣어 RESET이 혼잡 신호로 창을 줄이는지 확인
+ * - 불일치가 있으면 종료 코드 1
+ * - 사용: java httpconnector.ProbeCheck
+ */
+final class ProbeCheck {
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        int loopback = Ipv4.parse("127.0.0.1");
+        try (ServerSocket acceptClose = listen(false); ServerSocket readReset = listen(true);
+             NioConnectEngine nio = new NioConnectEngine(16)) {
+            int closedPort;
+            try (ServerSocket probe = new ServerSocket(0)) { closedPort = probe.getLocalPort(); }
+            same(nio, "closed port", loopback, closedPort, ProbeOutcome.CLOSED);
+            same(nio, "accept then close", loopback, acceptClose.getLocalPort(), ProbeOutcome.RESET);
+            same(nio, "read hello then reset", loopback, readReset.getLocalPort(), ProbeOutcome.RESET);
+            check("scheduler grows on closed ports", round(loopback, closedPort) > 0, "no growth");
+            check("scheduler backs off on resets", round(loopback, acceptClose.getLocalPort()) < 0, "no backoff");
+        }
+        System.out.println(failures == 0 ? "ok" : failures + " failure(s)");
+        if (failures > 0) System.exit(1);
+    }
+
+    // 두 경로의 판정이 기대값과 같은지 (scanOne은 카메라가 아니어야 함)
+    private static void same(NioConnectEngine nio, String name, int ip, int port, ProbeOutcome expected) throws Exception {
+        CompletableFuture<ProbeOutcome> viaNio = new CompletableFuture<>();
+        nio.handshake(ip, port, ScanEngine.TCP_CONNECT_TIMEOUT_MS, ScanEngine.HTTPS_CONNECT_TIMEOUT_MS, (i, p, o, ch) -> viaNio.complete(o));
+        ProbeOutcome nioOutcome = viaNio.get(5, TimeUnit.SECONDS);
+        ProbeOutcome blocking = ScanEngine.probeOne(ip, port, null);
+        ScanResult one = ScanEngine.scanOne(ip, port);
+        check(name + " nio", nioOutcome == expected, nioOutcome);
+        check(name + " blocking", blocking == expected, blocking);
+        check(name + " scanOne", one == null || !one.isCamera, one == null ? null : "camera");
+    }
+
+    // 새 스케줄러의 첫 라운드(창 크기만큼)를 블로킹 프로브 결과로 채운 뒤 창이 바뀐 양
+    private static int round(int ip, int port) throws InterruptedException {
+        ScanScheduler scheduler = new ScanScheduler(ScanEngine.NIO_MAX_IN_FLIGHT);
+        int n = scheduler.window();
+        for (int i = 0; i < n; i++) {
+            scheduler.acquire();
+            scheduler.release(ScanEngine.probeOne(ip, port, null));
+        }
+        return scheduler.window() - n;
+    }
+
+    static void check(String name, boolean ok, Object actual) {
+        System.out.printf("%-36s %s%s%n", name, ok ? "ok" : "FAIL", ok ? "" : " (" + actual + ")");
+        if (!ok) failures++;
+    }
+
+    // reset=false: 수락 즉시 close, reset=true: 첫 레코드를 읽은 뒤 RST로 끊음
+    private static ServerSocket listen(boolean reset) throws IOException {
+        ServerSocket server = new ServerSocket(0, 64, InetAddress.getByName("127.0.0.1"));
+        Thread t = new Thread(() -> {
+            try {
+                while (true) {
+                    try (Socket s = server.accept()) {
+                        if (!reset) continue;
+                        s.setSoTimeout(2000);
+                        InputStream in = s.getInputStream();
+                        in.read(new byte[512]);
+                        s.setSoLinger(true, 0);
+                    } catch (IOException e) {
+                        if (server.isClosed()) return;
+                    }
+                }
+            } catch (RuntimeException ignore) { /* 종료 */ }
+        }, "check-" + (reset ? "reset" : "close"));
+        t.setDaemon(true);
+        t.start();
+        return server;
+    }
+}
@@ -0,0 +1,46 @@
+package httpconnector;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 이벤트: 프로브 단계 1회 (TCP 연결 또는 TLS 핸드셰이크) — IP, 포트, 단계, 소요 시간, 결과
+ * - begin(): 기록 중이 아니면 null을 돌려줌 → 꺼져 있을 때 비용은 isEnabled() 확인뿐 (객체는 탈출하지 않아 JIT가 제거)
+ * - NIO 경로는 단계가 selector 반복을 넘나들므로 Pending에 보관했다가 단계가 끝날 때 end()
+ * - 사용: java -XX:StartFlightRecording=filename=scan.jfr,settings=profile ... → JMC에서 스레드별 타임라인/호스트별 필터
+ */
+@Name("httpconnector.ProbePhase")
+@Label("Probe Phase")
+@Category({"Device Connector", "Scan"})
+@Description("TCP connect or TLS handshake of one (ip, port) probe")
+@StackTrace(false)
+final class ProbeEvent extends Event {
+    static final String CONNECT = "connect", TLS = "tls";
+
+    @Label("IP") String ip;
+    @Label("Port") int port;
+    @Label("Phase") String phase;
+    @Label("Outcome") String outcome;
+
+    static ProbeEvent begin(int ip, int port, String phase) {
+        ProbeEvent e = new ProbeEvent();
+        if (!e.isEnabled()) return null;
+        e.ip = Ipv4.format(ip);
+        e.port = port;
+        e.phase = phase;
+        e.begin();
+        return e;
+    }
+
+    static void end(ProbeEvent e, ProbeOutcome outcome) {
+        if (e == null) return;
+        e.end();
+        if (!e.shouldCommit()) return; // 임계값(threshold) 미만
+        e.outcome = outcome.name();
+        e.commit();
+    }
+}
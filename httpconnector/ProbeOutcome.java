@@ -0,0 +1,46 @@
+package httpconnector;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLHandshakeException;
+import java.io.EOFException;
+import java.net.SocketException;
+import java.nio.channels.ClosedChannelException;
+import java.security.cert.CertificateException;
+
+/**
+ * 프로브 결과 분류 (TCP 단계 + TLS 단계)
+ * - 카메라 추정: 인증서 검증 실패(자체 서명/호스트명 불일치) 또는 TLS 협상 실패(구형 프로토콜/암호군)
+ * - 예외의 최상위 타입이 아니라 원인 체인을 보고 판정 → JDK 버전별 예외 래핑 차이에 영향 없음
+ * - 핸드셰이크 중 상대가 연결을 끊은 경우(accept 후 close/RST)는 JSSE가 SSLHandshakeException으로 올려도 RESET
+ *   (NIO 경로의 unwrap CLOSED/read -1과 같은 판정, 카메라 아님)
+ */
+enum ProbeOutcome {
+    // TCP
+    OPEN, CLOSED, TIMEOUT,
+    // TLS
+    TRUSTED, UNTRUSTED_CERT, PROTOCOL_MISMATCH, NOT_TLS, RESET, HANDSHAKE_TIMEOUT,
+    // TCP 열림 + MAC 제조사(OUI)로 카메라 확인 → TLS 생략
+    VENDOR_CAMERA,
+    // 결과가 필요 없어져 중단 (다른 포트에서 이미 판정 등)
+    CANCELLED;
+
+    /** 기존 판정(SSLHandshakeException → 카메라)과 동일한 기준 */
+    boolean isCamera() { return this == UNTRUSTED_CERT || this == PROTOCOL_MISMATCH || this == VENDOR_CAMERA; }
+
+    /** TCP 연결이 성립했는지 (포트 열림) */
+    boolean isOpen() { return this != CLOSED && this != TIMEOUT && this != CANCELLED; }
+
+    /** 상대가 TLS 단계에서 응답했는지 (핸드셰이크 RTT 표본이 되는 결과) */
+    boolean isTlsVerdict() { return this == TRUSTED || this == UNTRUSTED_CERT || this == PROTOCOL_MISMATCH || this == NOT_TLS; }
+
+    static ProbeOutcome classify(SSLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CertificateException) return UNTRUSTED_CERT;
+            if (t instanceof EOFException || t instanceof SocketException || t instanceof ClosedChannelException) return RESET;
+        }
+        // 원인 없이 메시지만 있는 경우: "Remote host terminated the handshake"
+        String m = e.getMessage();
+        if (e.getCause() == null && m != null && m.contains("Remote host terminated")) return RESET;
+        return e instanceof SSLHandshakeException ? PROTOCOL_MISMATCH : NOT_TLS;
+    }
+}
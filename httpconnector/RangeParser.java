@@ -0,0 +1,84 @@
+package httpconnector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IP 대역 입력 → TargetRange
+ * - 쉼표로 여러 항목: '192.168.0.*, 192.168.1.10-20'
+ * - CIDR /8 ~ /32: '10.0.0.0/16' (/30 이하는 네트워크/브로드캐스트 주소 제외, 호스트 부분은 무시)
+ * - 옥텟 범위는 어느 자리든: '192.168.1-3.*', '10.0-1.5.1-100'
+ * - 3옥텟 입력('a.b.c')은 'a.b.c.*'와 동일, 마지막 옥텟 '*'는 1~254 (나머지 자리 '*'는 0~255)
+ * - '!'로 시작하면 제외: '192.168.0.*, !192.168.0.1-10'
+ * - 항목 하나의 크기도, 전체 대상 수(겹침·제외 반영)도 /8(16,777,216개)까지, 항목은 64개까지
+ */
+final class RangeParser {
+    private static final long MAX_BLOCK = 1L << 24, MAX_TOTAL = 1L << 24;
+    private static final int MAX_TERMS = 64;
+    private static final String FORMATS = "지원 형식: 'a.b.c', 'a.b.c.*', 'a.b.c.d', 'a.b.c.d-e', 'a.b.1-3.*', 'a.b.c.d/8~32', 쉼표 목록, '!' 제외";
+
+    private RangeParser() {}
+
+    static TargetRange parse(String input) {
+        List<TargetRange.Block> includes = new ArrayList<>();
+        List<TargetRange.Block> excludes = new ArrayList<>();
+        for (String raw : input.split(",")) {
+            String term = raw.trim();
+            if (term.isEmpty()) continue;
+            boolean exclude = term.startsWith("!");
+            if (exclude) term = term.substring(1).trim();
+            TargetRange.Block block = term.indexOf('/') >= 0 ? cidr(term) : octets(term);
+            if (block.count() > MAX_BLOCK) throw new IllegalArgumentException("대역이 너무 큽니다(최대 /8): " + term);
+            (exclude ? excludes : includes).add(block);
+            if (includes.size() + excludes.size() > MAX_TERMS) throw new IllegalArgumentException("항목이 너무 많습니다(최대 " + MAX_TERMS + "개)");
+        }
+        if (includes.isEmpty()) throw new IllegalArgumentException(FORMATS);
+        TargetRange range = new TargetRange(includes, excludes);
+        if (range.size() > MAX_TOTAL) throw new IllegalArgumentException("전체 대상이 너무 많습니다(최대 /8, 16,777,216개): " + range.size() + "개");
+        return range;
+    }
+
+    private static TargetRange.Block cidr(String term) {
+        int slash = term.indexOf('/');
+        int base;
+        try { base = Ipv4.parse(term.substring(0, slash).trim()); }
+        catch (IllegalArgumentException e) { throw new IllegalArgumentException(e.getMessage() + " — " + FORMATS); }
+        int prefix = parseNumber(term.substring(slash + 1).trim(), term);
+        if (prefix < 8 || prefix > 32) throw new IllegalArgumentException("CIDR 접두사는 /8 ~ /32: " + term);
+        long mask = (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
+        long lo = (base & 0xFFFFFFFFL) & mask;
+        long hi = lo | (~mask & 0xFFFFFFFFL);
+        if (prefix <= 30) { lo++; hi--; } // 네트워크/브로드캐스트 제외
+        return new TargetRange.Span(lo, hi);
+    }
+
+    private static TargetRange.Block octets(String term) {
+        String[] parts = term.split("\\.", -1);
+        if (parts.length != 3 && parts.length != 4) throw new IllegalArgumentException(FORMATS);
+        int[] lo = new int[4], hi = new int[4];
+        for (int i = 0; i < 4; i++) {
+            String p = i < parts.length ? parts[i].trim() : "*";
+            if (p.equals("*")) {
+                lo[i] = i == 3 ? 1 : 0;
+                hi[i] = i == 3 ? 254 : 255;
+                continue;
+            }
+            int dash = p.indexOf('-');
+            lo[i] = validateOctet(parseNumber(dash < 0 ? p : p.substring(0, dash).trim(), term));
+            hi[i] = dash < 0 ? lo[i] : validateOctet(parseNumber(p.substring(dash + 1).trim(), term));
+            if (lo[i] > hi[i]) throw new IllegalArgumentException("옥텟 범위가 올바르지 않습니다: " + p);
+        }
+        return new TargetRange.Octets(lo, hi);
+    }
+
+    private static int parseNumber(String s, String term) {
+        if (s.isEmpty() || s.length() > 3) throw new IllegalArgumentException("입력 오류: " + term);
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) < '0' || s.charAt(i) > '9') throw new IllegalArgumentException("입력 오류: " + term);
+        return Integer.parseInt(s);
+    }
+
+    private static int validateOctet(int v) {
+        if (v < 0 || v > 255) throw new IllegalArgumentException("옥텟 범위(0~255) 위반: " + v);
+        return v;
+    }
+}
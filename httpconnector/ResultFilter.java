@@ -0,0 +1,96 @@
+package httpconnector;
+
+import javax.swing.RowFilter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 결과 테이블 검색 필터 (행마다 정규식/문자열 생성 없음)
+ * - CIDR 형식(192.168.0.0/25) → int 범위 비교
+ * - 그 외 → 소문자 부분 문자열 비교
+ *   · IP: 재사용 버퍼에 숫자로 써서 비교
+ *   · MAC/열린 포트: 모델 문자열 풀의 id마다 한 번만 판정해 캐시 (같은 값을 가진 행은 배열 조회 1회)
+ *   · 상태/제조사: 값 종류가 적으므로 검색어마다 미리 판정
+ * - 필터는 검색어마다 새로 만들고 EDT에서만 사용
+ */
+final class ResultFilter extends RowFilter<HttpConnector_V4.ScanTableModel, Integer> {
+    private static final byte UNKNOWN = 0, MATCH = 1, MISS = 2;
+
+    private final HttpConnector_V4.ScanTableModel model;
+    private final String query;
+    private final char[] needle;
+    private final int lo, hi;         // CIDR이면 [lo, hi] (부호 없는 비교)
+    private final boolean cidr;
+    private final boolean[] statusMatch = new boolean[HttpConnector_V4.ScanTableModel.STATUS_TEXT.length];
+    private final boolean[] vendorMatch;
+    private final char[] ipBuf = new char[15];
+    private byte[] macMatch = new byte[16], openMatch = new byte[16];
+
+    /** 빈 검색어면 null (필터 해제) */
+    static ResultFilter compile(String text, HttpConnector_V4.ScanTableModel model) {
+        String q = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        return q.isEmpty() ? null : new ResultFilter(q, model);
+    }
+
+    private ResultFilter(String query, HttpConnector_V4.ScanTableModel model) {
+        this.model = model;
+        this.query = query;
+        this.needle = query.toCharArray();
+        int[] range = cidrRange(query);
+        this.cidr = range != null;
+        this.lo = cidr ? range[0] : 0;
+        this.hi = cidr ? range[1] : 0;
+        for (int s = 0; s < statusMatch.length; s++) statusMatch[s] = HttpConnector_V4.ScanTableModel.STATUS_TEXT[s].contains(query);
+        OuiIndex oui = OuiIndex.shared();
+        this.vendorMatch = new boolean[oui.vendorCount()];
+        for (int v = 0; v < vendorMatch.length; v++) vendorMatch[v] = oui.vendor(v).toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    @Override
+    public boolean include(Entry<? extends HttpConnector_V4.ScanTableModel, ? extends Integer> entry) {
+        int row = entry.getIdentifier();
+        int ip = model.ipIntAt(row);
+        if (cidr) return Integer.compareUnsigned(ip, lo) >= 0 && Integer.compareUnsigned(ip, hi) <= 0;
+        if (statusMatch[model.statusCodeAt(row)]) return true;
+        int vendor = model.vendorIdAt(row);
+        if (vendor >= 0 && vendorMatch[vendor]) return true;
+        if (indexOf(ipBuf, Ipv4.format(ip, ipBuf), needle) >= 0) return true;
+        int mac = model.macIdAt(row);
+        if (mac >= 0 && poolMatch(true, mac)) return true;
+        return poolMatch(false, model.openIdAt(row));
+    }
+
+    private boolean poolMatch(boolean mac, int id) {
+        byte[] cache = mac ? macMatch : openMatch;
+        if (id >= cache.length) {
+            cache = Arrays.copyOf(cache, Math.max(id + 1, cache.length * 2));
+            if (mac) macMatch = cache; else openMatch = cache;
+        }
+        if (cache[id] == UNKNOWN) cache[id] = (mac ? model.macKey(id) : model.openKey(id)).contains(query) ? MATCH : MISS;
+        return cache[id] == MATCH;
+    }
+
+    /** "a.b.c.d/n" → {첫 주소, 끝 주소}, 형식이 아니면 null */
+    private static int[] cidrRange(String q) {
+        int slash = q.indexOf('/');
+        if (slash < 0) return null;
+        try {
+            int base = Ipv4.parse(q.substring(0, slash));
+            int prefix = Integer.parseInt(q.substring(slash + 1));
+            if (prefix < 0 || prefix > 32) return null;
+            int mask = prefix == 0 ? 0 : -1 << (32 - prefix);
+            return new int[] {base & mask, (base & mask) | ~mask};
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(char[] hay, int len, char[] needle) {
+        outer:
+        for (int i = 0, last = len - needle.length; i <= last; i++) {
+            for (int j = 0; j < needle.length; j++) if (hay[i + j] != needle[j]) continue outer;
+            return i;
+        }
+        return -1;
+    }
+}
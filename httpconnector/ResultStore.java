@@ -0,0 +1,158 @@
+package httpconnector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스캔 결과 영구 저장 (재시작 시 바로 표시 + 이전에 본 장비부터 재검사)
+ * - 키: IP+포트, 값: 마지막 확인 시각, 카메라 여부, 판정 포트 여부, MAC
+ * - 파일: -Dscan.store.file (기본 ~/.httpconnector/results.bin), 레코드당 23바이트 고정 길이
+ * - 저장은 임시 파일에 쓴 뒤 교체 (중간에 종료돼도 이전 파일 유지), MAX_AGE 넘게 보이지 않은 항목은 읽을 때 버림
+ * - EDT에서만 사용 (잠금 없음)
+ */
+final class ResultStore {
+    private static final int MAGIC = 0x48435231; // "HCR1"
+    private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(30);
+    private static final int CAMERA = 1, DECISIVE = 2;
+
+    private static final class Entry {
+        long lastSeen, mac; // mac: 48비트 값, -1 = 모름
+        int flags;
+        Entry(long lastSeen, long mac, int flags) { this.lastSeen = lastSeen; this.mac = mac; this.flags = flags; }
+    }
+
+    private final Path file;
+    private final TreeMap<Long, Entry> entries = new TreeMap<>(); // 키: 부호 없는 IP << 16 | 포트 → IP, 포트 순
+
+    ResultStore(Path file) { this.file = file; }
+
+    static ResultStore system() {
+        String configured = System.getProperty("scan.store.file");
+        return new ResultStore(configured != null ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"), ".httpconnector", "results.bin"));
+    }
+
+    /** 파일에서 읽기 (없거나 손상되면 읽은 만큼만 사용), 읽은 항목 수 반환 */
+    int load() {
+        entries.clear();
+        if (!Files.isReadable(file)) return 0;
+        long oldest = System.currentTimeMillis() - MAX_AGE_MS;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("unknown format");
+            for (int n = in.readInt(); n > 0; n--) {
+                int ip = in.readInt(), port = in.readUnsignedShort(), flags = in.readByte();
+                long lastSeen = in.readLong(), mac = in.readLong();
+                if (lastSeen >= oldest) entries.put(key(ip, port), new Entry(lastSeen, mac, flags));
+            }
+        } catch (EOFException e) {
+            System.err.println("Result store truncated: " + file);
+        } catch (IOException e) {
+            System.err.println("Result store read failed: " + e.getMessage());
+        }
+        return entries.size();
+    }
+
+    void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                out.writeInt(ipOf(e.getKey()));
+                out.writeShort(portOf(e.getKey()));
+                out.writeByte(e.getValue().flags);
+                out.writeLong(e.getValue().lastSeen);
+                out.writeLong(e.getValue().mac);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** 스캔 결과 반영: 열린 포트는 갱신, 이번에 검사한(probed) 포트 중 닫힌 포트만 삭제 */
+    void record(ScanResult r, int[] probed, long now) {
+        long mac = parseMac(r.mac);
+        r.openPorts.forEach((port, open) -> {
+            if (!open) { if (contains(probed, port)) entries.remove(key(r.ip, port)); return; }
+            int flags = (r.isCamera ? CAMERA : 0) | (port == r.port ? DECISIVE : 0);
+            entries.put(key(r.ip, port), new Entry(now, mac, flags));
+        });
+    }
+
+    /** 더 이상 발견되지 않는 호스트에서 이번에 검사한 포트만 삭제 (검사하지 않은 포트의 기록은 유지) */
+    void forget(int[] ips, int[] probed) {
+        for (int ip : ips) for (int port : probed) entries.remove(key(ip, port));
+    }
+
+    /** 호스트별로 묶은 결과 (IP 오름차순) */
+    List<ScanResult> results() {
+        List<ScanResult> out = new ArrayList<>();
+        Map<Integer, Boolean> open = null;
+        int ip = 0, decisive = -1; boolean camera = false; long mac = -1;
+        for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+            int entryIp = ipOf(e.getKey());
+            if (open != null && entryIp != ip) { out.add(toResult(ip, camera, decisive, open, mac)); open = null; }
+            if (open == null) { open = new LinkedHashMap<>(); ip = entryIp; decisive = -1; camera = false; mac = -1; }
+            Entry v = e.getValue();
+            open.put(portOf(e.getKey()), true);
+            if ((v.flags & DECISIVE) != 0 || decisive < 0) decisive = portOf(e.getKey());
+            camera |= (v.flags & CAMERA) != 0;
+            if (v.mac >= 0) mac = v.mac;
+        }
+        if (open != null) out.add(toResult(ip, camera, decisive, open, mac));
+        return out;
+    }
+
+    /** 저장된 호스트 IP (부호 없는 오름차순, 중복 없음) */
+    int[] hosts() {
+        return entries.keySet().stream().mapToInt(ResultStore::ipOf).distinct().toArray();
+    }
+
+    int size() { return entries.size(); }
+
+    private static ScanResult toResult(int ip, boolean camera, int port, Map<Integer, Boolean> open, long mac) {
+        return new ScanResult(ip, camera, port, open, formatMac(mac));
+    }
+
+    private static boolean contains(int[] ports, int port) {
+        for (int p : ports) if (p == port) return true;
+        return false;
+    }
+
+    private static long key(int ip, int port) { return (ip & 0xFFFFFFFFL) << 16 | port; }
+    private static int ipOf(long key) { return (int) (key >>> 16); }
+    private static int portOf(long key) { return (int) (key & 0xFFFF); }
+
+    // "6C-1C-71-0C-4A-06" ↔ 48비트 값
+    private static long parseMac(String mac) {
+        if (mac == null) return -1;
+        String hex = mac.replace("-", "").replace(":", "");
+        try { return hex.length() == 12 ? Long.parseLong(hex, 16) : -1; } catch (NumberFormatException e) { return -1; }
+    }
+
+    private static String formatMac(long mac) {
+        if (mac < 0) return null;
+        char[] out = new char[17];
+        for (int i = 0; i < 6; i++) {
+            int b = (int) (mac >>> (40 - 8 * i)) & 0xFF;
+            out[i * 3] = Character.toUpperCase(Character.forDigit(b >>> 4, 16));
+            out[i * 3 + 1] = Character.toUpperCase(Character.forDigit(b & 0xF, 16));
+            if (i < 5) out[i * 3 + 2] = '-';
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,104 @@
+package httpconnector;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * /24 서브넷별 적응형 타임아웃 (TCP의 SRTT/RTTVAR 방식, RFC 6298)
+ * - 표본: TCP 연결 완료(SYN-ACK 또는 RST 수신)까지의 시간, TLS 응답(성공/실패 판정)까지의 시간
+ * - 타임아웃 = SRTT + 4·RTTVAR, [MIN, MAX]로 제한
+ *   핸드셰이크의 하한은 기본값(고정 HTTPS 타임아웃) — 빠른 장비의 표본으로 줄이면 서명이 1~3초 걸리는 임베디드 TLS 카메라를 놓침
+ *   → 연결 타임아웃만 빠른 표본으로 줄어들고, 핸드셰이크 타임아웃은 느린 대역에서 늘어나기만 함
+ * - 표본이 없는 서브넷은 기본값과 전체 추정치 중 큰 값 사용 → 원격(VPN) 대역은 늘어나지만 근거 없이 줄지는 않음
+ * - ScanEngine마다 하나 (엔진을 공유하는 스캔/감시가 학습 결과도 공유), 표본은 ScanMetrics의 단계별 히스토그램에도 기록
+ */
+final class RttEstimator {
+    static final int CONNECT_MIN_MS = 50, CONNECT_MAX_MS = 3000;
+    static final int HANDSHAKE_MAX_MS = 5000;
+
+    /** 표본 누적 (α=1/8, β=1/4) */
+    static final class Estimate {
+        private double srtt, rttvar;
+        private int samples;
+
+        synchronized void add(double ms) {
+            if (samples++ == 0) { srtt = ms; rttvar = ms / 2; return; }
+            rttvar = 0.75 * rttvar + 0.25 * Math.abs(srtt - ms);
+            srtt = 0.875 * srtt + 0.125 * ms;
+        }
+        synchronized int samples() { return samples; }
+        synchronized double srtt() { return srtt; }
+        synchronized int timeoutMs(int min, int max) { return (int) Math.min(max, Math.max(min, Math.ceil(srtt + 4 * rttvar))); }
+    }
+
+    private static final class Subnet {
+        final int key;
+        final Estimate connect = new Estimate(), handshake = new Estimate();
+        Subnet(int key) { this.key = key; }
+    }
+
+    private final int defaultConnectMs, defaultHandshakeMs;
+    private final ScanMetrics metrics; // null이면 기록 안 함
+    private final Estimate globalConnect = new Estimate(), globalHandshake = new Estimate();
+    private final ConcurrentHashMap<Integer, Subnet> subnets = new ConcurrentHashMap<>();
+    private volatile Subnet last; // 대상이 대역 순서로 나오므로 대부분 같은 서브넷 → 맵 조회 생략
+
+    RttEstimator(int defaultConnectMs, int defaultHandshakeMs) { this(defaultConnectMs, defaultHandshakeMs, null); }
+
+    RttEstimator(int defaultConnectMs, int defaultHandshakeMs, ScanMetrics metrics) {
+        this.defaultConnectMs = defaultConnectMs;
+        this.defaultHandshakeMs = defaultHandshakeMs;
+        this.metrics = metrics;
+    }
+
+    int connectTimeoutMs(int ip) {
+        Subnet s = find(ip);
+        if (s != null && s.connect.samples() > 0) return s.connect.timeoutMs(CONNECT_MIN_MS, CONNECT_MAX_MS);
+        return coldTimeout(globalConnect, defaultConnectMs, CONNECT_MAX_MS);
+    }
+
+    int handshakeTimeoutMs(int ip) {
+        Subnet s = find(ip);
+        if (s != null && s.handshake.samples() > 0) return s.handshake.timeoutMs(defaultHandshakeMs, HANDSHAKE_MAX_MS);
+        return coldTimeout(globalHandshake, defaultHandshakeMs, HANDSHAKE_MAX_MS);
+    }
+
+    void connectSample(int ip, long nanos) {
+        double ms = nanos / 1e6;
+        subnet(ip).connect.add(ms);
+        globalConnect.add(ms);
+        if (metrics != null) metrics.connect.record(nanos);
+    }
+
+    void handshakeSample(int ip, long nanos) {
+        double ms = nanos / 1e6;
+        subnet(ip).handshake.add(ms);
+        globalHandshake.add(ms);
+        if (metrics != null) metrics.handshake.record(nanos);
+    }
+
+    /** 상태바 표시용 요약: "RTT 1.8ms · 타임아웃 50/1200ms · 학습 3개 대역" */
+    String summary() {
+        if (globalConnect.samples() == 0) return "RTT 학습 전 · 타임아웃 " + defaultConnectMs + "/" + defaultHandshakeMs + "ms";
+        Subnet s = last;
+        String timeouts = s == null ? "" : " · 타임아웃 " + connectTimeoutMs(s.key << 8) + "/" + handshakeTimeoutMs(s.key << 8) + "ms";
+        return String.format("RTT %.1fms%s · 학습 %d개 대역", globalConnect.srtt(), timeouts, subnets.size());
+    }
+
+    private static int coldTimeout(Estimate global, int fallback, int max) {
+        return global.samples() == 0 ? fallback : global.timeoutMs(fallback, max);
+    }
+
+    private Subnet find(int ip) {
+        int key = ip >>> 8;
+        Subnet s = last;
+        if (s != null && s.key == key) return s;
+        return subnets.get(key);
+    }
+
+    private Subnet subnet(int ip) {
+        int key = ip >>> 8;
+        Subnet s = last;
+        if (s == null || s.key != key) last = s = subnets.computeIfAbsent(key, Subnet::new);
+        return s;
+    }
+}
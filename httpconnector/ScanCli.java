@@ -0,0 +1,166 @@
+package httpconnector;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * 화면 없이 실행하는 스캔 (점프 호스트, cron 등)
+ * - 사용: java httpconnector.ScanCli <대역> [-p 443,8443] [-f ndjson|csv] [-o 파일]
+ * - 대역 형식은 UI와 같음 (RangeParser), 프로브는 UI와 같은 ScanEngine (실행 방식은 -Dscan.mode)
+ * - 카메라로 판정되는 즉시 한 줄씩 쓰고 flush (결과를 모아 두지 않음, 한 번에 RESULT_BUFFER개씩만 요청)
+ * - 끝나면 stderr에 요약: 대상 수, 소요 시간, 초당 처리량, 호스트별 지연 백분위
+ * - 종료 코드: 0 정상, 2 인자 오류, 1 입출력 오류 또는 스캔 오류 (엔진 onError, 그때까지 쓴 결과는 남음)
+ */
+final class ScanCli {
+    private final int[] ports;
+    private final Writer out;
+    private final boolean csv;
+    private final OuiIndex oui = OuiIndex.shared();
+    private int hits; // onNext는 한 번에 한 스레드만
+    private volatile IOException writeError;
+    private volatile Throwable scanError;
+
+    private ScanCli(int[] ports, Writer out, boolean csv) {
+        this.ports = ports;
+        this.out = out;
+        this.csv = csv;
+    }
+
+    public static void main(String[] args) {
+        String range = null, format = "ndjson", file = null;
+        int[] ports = {443};
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-p": ports = parsePorts(args[++i]); break;
+                    case "-f": format = args[++i]; break;
+                    case "-o": file = args[++i]; break;
+                    default:
+                        if (args[i].startsWith("-") || range != null) throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+                        range = args[i];
+                }
+            }
+            if (range == null) throw new IllegalArgumentException("대역을 지정하세요");
+            if (!format.equals("ndjson") && !format.equals("csv")) throw new IllegalArgumentException("형식은 ndjson 또는 csv: " + format);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println((e.getMessage() == null ? "인자 오류" : e.getMessage()));
+            System.err.println("사용: java httpconnector.ScanCli <대역> [-p 443,8443] [-f ndjson|csv] [-o 파일]");
+            System.exit(2);
+            return;
+        }
+
+        TargetRange targets;
+        try {
+            targets = RangeParser.parse(range);
+        } catch (IllegalArgumentException e) {
+            System.err.println("IP 대역 입력 형식 오류: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        boolean failed = false;
+        try (Writer w = file == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+            ScanCli cli = new ScanCli(ports, w, format.equals("csv"));
+            if (cli.csv) cli.writeLine("ip,port,camera,open_ports,mac,vendor");
+            long start = System.nanoTime();
+            ScanEngine.Scan scan;
+            try (ScanEngine engine = new ScanEngine(ScanExecutors.configuredMode(), NeighborTable.system())) {
+                scan = engine.scan(targets, ports, new int[0]);
+                cli.run(scan);
+            }
+            long ms = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            if (cli.writeError != null) throw cli.writeError;
+            LatencyHistogram h = scan.latency();
+            System.err.printf("# %d hosts, %d hits, %d ms, %.1f hosts/s, latency p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms%n",
+                    scan.completedHosts(), cli.hits, ms, scan.completedHosts() * 1000.0 / ms,
+                    h.percentileNanos(50) / 1e6, h.percentileNanos(90) / 1e6, h.percentileNanos(99) / 1e6, h.maxNanos() / 1e6);
+            if (cli.scanError != null) {
+                System.err.println("스캔 오류: " + cli.scanError);
+                failed = true;
+            }
+        } catch (IOException e) {
+            System.err.println("출력 오류: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failed) System.exit(1); // 출력 파일을 닫은 뒤
+    }
+
+    // 쓴 만큼만 다음 결과를 요청 → 출력이 느리면 엔진이 대상 순회를 멈춤
+    private void run(ScanEngine.Scan scan) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(1);
+        scan.subscribe(new Flow.Subscriber<ScanResult>() {
+            private Flow.Subscription subscription;
+            @Override public void onSubscribe(Flow.Subscription s) { subscription = s; s.request(ScanEngine.RESULT_BUFFER); }
+            @Override public void onNext(ScanResult r) {
+                hits++;
+                emit(r);
+                if (writeError != null) { subscription.cancel(); finished.countDown(); }
+                else subscription.request(1);
+            }
+            @Override public void onError(Throwable t) { scanError = t; finished.countDown(); }
+            @Override public void onComplete() { finished.countDown(); }
+        });
+        finished.await();
+    }
+
+    private void emit(ScanResult r) {
+        if (!csv) { writeLine(json(r)); return; }
+        String vendor = oui.vendor(oui.vendorId(r.mac));
+        writeLine(Ipv4.format(r.ip) + "," + r.port + "," + r.isCamera + "," + openPorts(r, " ") + "," + (r.mac == null ? "" : r.mac) + "," + (vendor == null ? "" : vendor));
+    }
+
+    /** NDJSON 한 줄 (ScanServer의 응답/이벤트도 같은 형식) */
+    static String json(ScanResult r) {
+        OuiIndex oui = OuiIndex.shared();
+        return "{\"ip\":\"" + Ipv4.format(r.ip) + "\",\"port\":" + r.port + ",\"camera\":" + r.isCamera + ",\"openPorts\":[" + openPorts(r, ",") + "]"
+                + ",\"mac\":" + quote(r.mac) + ",\"vendor\":" + quote(oui.vendor(oui.vendorId(r.mac))) + "}";
+    }
+
+    private static String openPorts(ScanResult r, String separator) {
+        StringJoiner open = new StringJoiner(separator);
+        for (Map.Entry<Integer, Boolean> e : r.openPorts.entrySet()) if (e.getValue()) open.add(String.valueOf(e.getKey()));
+        return open.toString();
+    }
+
+    // 엔진 스레드에서 호출 → 한 줄 단위로 직렬화하고 바로 flush
+    private synchronized void writeLine(String line) {
+        if (writeError != null) return;
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            writeError = e;
+        }
+    }
+
+    // MAC/제조사 이름에는 따옴표·역슬래시가 없지만 OUI 추가 파일은 사용자가 편집하므로 이스케이프
+    static String quote(String s) {
+        return s == null ? "null" : "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    static int[] parsePorts(String text) {
+        Set<Integer> ports = new LinkedHashSet<>();
+        for (String part : text.split(",")) {
+            int p = Integer.parseInt(part.trim());
+            if (p <= 0 || p > 65535) throw new IllegalArgumentException("포트 번호가 올바르지 않습니다: " + part);
+            ports.add(p);
+        }
+        return ports.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
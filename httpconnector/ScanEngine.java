@@ -0,0 +1,438 @@
+package httpconnector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Swing과 무관한 스캔 엔진 — UI, CLI, 감시 모드가 같은 엔진을 공유
+ * - scan(): 대역 스캔을 Flow.Publisher로 제공, 구독자가 request(n)한 만큼만 onNext
+ *   전달하지 못한 결과가 RESULT_BUFFER개 쌓이면 대상 순회를 멈추고 요청이 오면 재개 (느린 소비자가 힙을 키우지 않음)
+ * - probeHost(): 호스트 하나의 포트들을 동시에 프로브 → CompletableFuture (카메라가 아니면 null), connect(): TCP 연결만
+ * - 실행 방식(nio/pool/virtual), RTT 학습, ARP 우선 순서, OUI 판정은 엔진 안에서 처리
+ *   RTT 추정치는 엔진 수명 동안 유지, AIMD 스케줄러는 스캔마다 새로 만듦
+ * - 결과 콜백은 selector/풀 스레드에서 호출되므로 가볍게 처리할 것
+ * - 단계별 지연/결과 카운터/진행 중 게이지는 metrics()에 누적 (JMX에도 등록)
+ */
+final class ScanEngine implements Closeable {
+    static final int TCP_CONNECT_TIMEOUT_MS = 500;             // 포트 열림 감지용 (RTT 학습 전 기본값)
+    static final int HTTPS_CONNECT_TIMEOUT_MS = 1200;          // 핸드셰이크 시도 (RTT 학습 전 기본값)
+    static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    static final int POOL_SUBMIT_WINDOW = THREADS * 2;         // pool 모드: 제출해 둔(대기+실행) 작업 상한 (AIMD 창의 최대값)
+    static final int NIO_MAX_IN_FLIGHT = 1024;                 // 동시 진행 TCP connect 수 상한 (fd 한도 고려, AIMD 창의 최대값)
+    static final int RESULT_BUFFER = 256;                      // 구독자가 가져가지 않은 결과 상한
+
+    // 포트 하나의 결과 (selector 또는 executor 스레드)
+    private interface PortDone { void done(int index, ProbeOutcome outcome); }
+
+    private final ScanExecutors.Mode mode;
+    private final NeighborTable neighbors;
+    private final OuiIndex oui = OuiIndex.shared();
+    private final ScanMetrics metrics = new ScanMetrics();
+    private final RttEstimator rtt = new RttEstimator(TCP_CONNECT_TIMEOUT_MS, HTTPS_CONNECT_TIMEOUT_MS, metrics);
+    private final NioConnectEngine nio;     // nio 모드
+    private final ExecutorService executor; // pool/virtual 모드
+    private final boolean ownExecutor;
+    private volatile boolean closed;
+
+    ScanEngine(ScanExecutors.Mode mode, NeighborTable neighbors) throws IOException {
+        this.mode = mode;
+        this.neighbors = neighbors;
+        switch (mode) {
+            case POOL:
+                nio = null; executor = ScanExecutors.sharedPool(THREADS); ownExecutor = false;
+                break;
+            case VIRTUAL:
+                nio = null; executor = ScanExecutors.newVirtualPerTask(); ownExecutor = true;
+                break;
+            default:
+                nio = new NioConnectEngine(NIO_MAX_IN_FLIGHT, rtt); executor = null; ownExecutor = false;
+                break;
+        }
+        metrics.register();
+    }
+
+    ScanExecutors.Mode mode() { return mode; }
+
+    /** 대역 스캔 (구독 시 시작). first: 먼저 검사할 호스트 (이전 결과 등), ARP 캐시의 호스트가 그다음 */
+    Scan scan(TargetRange targets, int[] ports, int[] first) { return new Scan(targets, ports, first); }
+
+    /**
+     * 호스트 하나 프로브 → 카메라면 결과(MAC 포함), 아니면 null. future를 취소하면 진행 중인 포트도 취소
+     * - 포트마다 scheduler에서 창/토큰을 얻고(대기할 수 있음) 결과로 반환 → 감시 프로브도 속도 제한·AIMD를 따름
+     * - drained: 모든 포트가 실제로 끝나면 한 번 호출 (future를 취소한 뒤에도 채널이 닫힐 때까지 기다림)
+     */
+    CompletableFuture<ScanResult> probeHost(int ip, int[] ports, ScanScheduler scheduler, Runnable drained) {
+        CompletableFuture<ScanResult> future = new CompletableFuture<>();
+        HostProbe host = new HostProbe(ip, ports);
+        boolean byVendor = cameraByVendor(ip);
+        long started = System.nanoTime();
+        metrics.hostStarted();
+        PortDone done = (index, outcome) -> {
+            if (!host.record(index, outcome)) return;
+            metrics.hostFinished(System.nanoTime() - started);
+            ScanResult r = host.toResult();
+            future.complete(r == null ? null : r.withMac(neighbors.macOf(ip)));
+            drained.run();
+        };
+        future.whenComplete((r, e) -> { if (future.isCancelled()) host.cancel(); });
+        submitScheduled(host, !byVendor, byVendor, scheduler, done);
+        return future;
+    }
+
+    /** TCP 연결만 확인 → OPEN/CLOSED/TIMEOUT (감시 모드의 온라인 확인), scheduler/drained는 probeHost와 같음 */
+    CompletableFuture<ProbeOutcome> connect(int ip, int port, ScanScheduler scheduler, Runnable drained) {
+        CompletableFuture<ProbeOutcome> future = new CompletableFuture<>();
+        HostProbe host = new HostProbe(ip, new int[] {port});
+        future.whenComplete((o, e) -> { if (future.isCancelled()) host.cancel(); });
+        submitScheduled(host, false, false, scheduler, (index, outcome) -> {
+            future.complete(outcome);
+            drained.run();
+        });
+        return future;
+    }
+
+    // Scan.submitHost와 같은 순서: 판정이 끝났으면 CANCELLED, 아니면 창을 얻고 제출 (인터럽트되면 나머지 취소 후 플래그 복원)
+    private void submitScheduled(HostProbe host, boolean tls, boolean byVendor, ScanScheduler scheduler, PortDone done) {
+        boolean interrupted = false;
+        for (int i = 0; i < host.ports.length; i++) {
+            if (host.settled()) { done.done(i, ProbeOutcome.CANCELLED); continue; }
+            try {
+                scheduler.acquire();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                host.cancel();
+                done.done(i, ProbeOutcome.CANCELLED);
+                continue;
+            }
+            submitPort(host, i, tls, (index, outcome) -> {
+                ProbeOutcome o = byVendor ? vendorVerdict(outcome) : outcome;
+                scheduler.release(o);
+                done.done(index, o);
+            });
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    ScanMetrics metrics() { return metrics; }
+
+    /** 상태바 표시용 RTT 요약 */
+    String rttSummary() { return rtt.summary(); }
+
+    /** 엔진 종료 — 진행 중인 프로브는 결과 없이 버려짐 (프로그램 종료 시) */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (nio != null) nio.close();
+        if (ownExecutor) executor.shutdownNow();
+        metrics.unregister();
+    }
+
+    // 포트 하나 제출. tls=false면 연결만 (OPEN). 제출하지 못하면 바로 CANCELLED 통지
+    private void submitPort(HostProbe host, int index, boolean tls, PortDone portDone) {
+        int ip = host.ip, port = host.ports[index];
+        metrics.portStarted();
+        PortDone done = (i, outcome) -> {
+            metrics.portFinished(outcome);
+            portDone.done(i, outcome);
+        };
+        if (nio == null) {
+            try {
+                executor.execute(() -> {
+                    ProbeOutcome outcome = ProbeOutcome.CANCELLED;
+                    try {
+                        if (!host.settled()) { // 빠른 취소, 다른 포트에서 이미 판정
+                            BlockingProbe probe = new BlockingProbe(ip, port);
+                            host.attach(index, probe); // 취소하면 채널을 닫아 진행 중인 connect/핸드셰이크를 바로 끝냄
+                            outcome = probe.run(rtt, tls);
+                        }
+                    } catch (IOException e) {
+                        outcome = ProbeOutcome.CLOSED;
+                    } finally {
+                        done.done(index, outcome);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                done.done(index, ProbeOutcome.CANCELLED);
+            }
+            return;
+        }
+        NioConnectEngine.Listener listener = (i, p, outcome, channel) -> {
+            if (channel != null) closeQuietly(channel);
+            done.done(index, outcome);
+        };
+        try {
+            host.attach(index, tls
+                    ? nio.handshake(ip, port, rtt.connectTimeoutMs(ip), rtt.handshakeTimeoutMs(ip), listener)
+                    : nio.connect(ip, port, rtt.connectTimeoutMs(ip), listener));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done.done(index, ProbeOutcome.CANCELLED);
+        } catch (IllegalStateException e) {
+            done.done(index, ProbeOutcome.CANCELLED); // 엔진 종료
+        }
+    }
+
+    // ARP 캐시의 MAC이 카메라 제조사(OUI)면 TLS 핸드셰이크 생략
+    private boolean cameraByVendor(int ip) { return oui.isCameraMac(neighbors.macOf(ip)); }
+
+    private static ProbeOutcome vendorVerdict(ProbeOutcome o) { return o == ProbeOutcome.OPEN ? ProbeOutcome.VENDOR_CAMERA : o; }
+
+    /**
+     * 대역 스캔 1회 (구독자 1개)
+     * - 구독하면 생산 스레드가 대상을 순서대로 꺼내 스케줄러 창 안에서 제출
+     * - 결과는 호스트의 마지막 포트가 끝난 스레드에서 버퍼에 넣고 요청량만큼 전달 (전달은 한 번에 한 스레드만)
+     * - cancel(): 순회 중지 + 진행 중인 프로브 취소(채널을 바로 닫음), 이후 신호 없음
+     * - quiescent(): 생산 스레드가 끝나고 제출한 프로브가 모두 끝나면 완료 — 다음 스캔은 이 뒤에 시작해야 겹치지 않음
+     *   취소 ~ 정지까지 걸린 시간은 cancelToQuiescentNanos()와 metrics()에 기록
+     */
+    final class Scan implements Flow.Publisher<ScanResult>, Flow.Subscription {
+        private final TargetRange targets;
+        private final int[] ports, first;
+        private final int total;
+        private final ScanScheduler scheduler;
+        private final LatencyHistogram latency = new LatencyHistogram(); // 호스트 첫 프로브 시작 ~ 마지막 포트 판정
+        private final Set<HostProbe> active = ConcurrentHashMap.newKeySet();
+        private final ConcurrentLinkedQueue<ScanResult> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger(), submitted = new AtomicInteger(), completed = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Object space = new Object(); // 버퍼 여유 대기
+        private final CompletableFuture<Void> quiescent = new CompletableFuture<>();
+        private volatile long cancelledAt, quiescentAt; // nanoTime, 0 = 아직
+        private volatile Flow.Subscriber<? super ScanResult> subscriber;
+        private volatile Thread producer;
+        private volatile boolean cancelled, produced;
+        private volatile Throwable error;
+        private boolean terminated; // drain 안에서만
+
+        private Scan(TargetRange targets, int[] ports, int[] first) {
+            this.targets = targets;
+            this.ports = ports;
+            this.first = first;
+            this.total = (int) targets.size();
+            this.scheduler = new ScanScheduler(mode == ScanExecutors.Mode.POOL ? POOL_SUBMIT_WINDOW
+                    : mode == ScanExecutors.Mode.VIRTUAL ? ScanExecutors.VIRTUAL_CONCURRENCY : NIO_MAX_IN_FLIGHT);
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ScanResult> s) {
+            Objects.requireNonNull(s);
+            synchronized (this) {
+                if (subscriber != null) {
+                    s.onSubscribe(new Flow.Subscription() { public void request(long n) {} public void cancel() {} });
+                    s.onError(new IllegalStateException("스캔은 한 번만 구독할 수 있습니다"));
+                    return;
+                }
+                subscriber = s;
+            }
+            s.onSubscribe(this);
+            if (cancelled) { produced = true; checkQuiescent(); return; } // 생산 스레드 시작 전에 취소됨
+            Thread t = new Thread(this::produce, "scan-producer");
+            t.setDaemon(true);
+            producer = t;
+            t.start();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request(n): n must be > 0 (" + n + ")");
+                cancel();
+                drain();
+                return;
+            }
+            for (long cur, next; ; ) {
+                cur = demand.get();
+                next = cur + n < 0 ? Long.MAX_VALUE : cur + n;
+                if (demand.compareAndSet(cur, next)) break;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            boolean started;
+            synchronized (this) {
+                if (cancelled) return;
+                cancelled = true;
+                cancelledAt = System.nanoTime();
+                started = subscriber != null;
+            }
+            if (!started) { produced = true; checkQuiescent(); return; } // 생산 스레드가 시작되지 않음
+            Thread t = producer;
+            if (t != null) t.interrupt(); // 스케줄러/버퍼 대기 해제
+            for (HostProbe h : active) h.cancel();
+        }
+
+        int total() { return total; }
+
+        /** 끝난 호스트 수 (진행률) */
+        int completedHosts() { return completed.get(); }
+
+        boolean isCancelled() { return cancelled; }
+
+        /** 생산 스레드와 제출한 프로브가 모두 끝나면 완료 (정상 종료, 취소 모두) */
+        CompletableFuture<Void> quiescent() { return quiescent.copy(); }
+
+        /** 취소 ~ 정지까지 걸린 시간, 취소하지 않았거나 아직 정지 전이면 -1 */
+        long cancelToQuiescentNanos() {
+            long c = cancelledAt, q = quiescentAt;
+            return c == 0 || q == 0 ? -1 : Math.max(0, q - c);
+        }
+
+        LatencyHistogram latency() { return latency; }
+
+        /** 상태바 표시용: 학습된 RTT/타임아웃 + 동시 실행 창 */
+        String summary() { return rtt.summary() + " · " + scheduler.summary(); }
+
+        // 이전 결과 → ARP 캐시에 있는(살아 있는) 호스트 → 나머지는 입력 순서대로
+        private void produce() {
+            try {
+                neighbors.ensureFresh();
+                int[] arp = neighbors.knownHosts();
+                int[] order = Arrays.copyOf(first, first.length + arp.length);
+                System.arraycopy(arp, 0, order, first.length, arp.length);
+                for (PrimitiveIterator.OfInt it = targets.iterator(order); it.hasNext() && !cancelled; ) {
+                    awaitSpace();
+                    submitHost(it.nextInt());
+                }
+            } catch (InterruptedException e) {
+                cancelled = true;
+            } catch (RuntimeException e) {
+                error = e;
+                cancel();
+            } finally {
+                produced = true;
+                checkQuiescent();
+                drain();
+            }
+        }
+
+        private void awaitSpace() throws InterruptedException {
+            synchronized (space) {
+                while (buffered.get() >= RESULT_BUFFER && !cancelled) space.wait();
+            }
+        }
+
+        // 호스트의 포트들을 동시에 프로브, 카메라 판정 시 나머지 취소
+        private void submitHost(int ip) {
+            HostProbe host = new HostProbe(ip, ports);
+            long started = System.nanoTime();
+            boolean byVendor = cameraByVendor(ip);
+            submitted.incrementAndGet();
+            metrics.hostStarted();
+            active.add(host);
+            if (cancelled) host.cancel(); // cancel()이 active를 이미 훑은 경우
+            for (int i = 0; i < ports.length; i++) {
+                if (host.settled()) { portDone(host, i, ProbeOutcome.CANCELLED, started); continue; }
+                try {
+                    scheduler.acquire();
+                } catch (InterruptedException e) {
+                    cancelled = true;
+                    host.cancel();
+                    portDone(host, i, ProbeOutcome.CANCELLED, started);
+                    continue;
+                }
+                submitPort(host, i, !byVendor, (index, outcome) -> {
+                    ProbeOutcome o = byVendor ? vendorVerdict(outcome) : outcome;
+                    scheduler.release(o);
+                    portDone(host, index, o, started);
+                });
+            }
+        }
+
+        // 호스트의 마지막 포트가 끝나면 결과를 버퍼에 + 진행률 1 증가
+        private void portDone(HostProbe host, int index, ProbeOutcome outcome, long started) {
+            if (!host.record(index, outcome)) return;
+            active.remove(host);
+            long nanos = System.nanoTime() - started;
+            latency.record(nanos);
+            metrics.hostFinished(nanos);
+            ScanResult r = host.toResult();
+            if (r != null && !cancelled) {
+                buffer.add(r.withMac(neighbors.macOf(r.ip)));
+                buffered.incrementAndGet();
+            }
+            completed.incrementAndGet();
+            checkQuiescent();
+            drain();
+        }
+
+        private void checkQuiescent() {
+            if (!produced || completed.get() != submitted.get()) return;
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (quiescentAt != 0) return;
+                quiescentAt = now;
+            }
+            if (cancelledAt != 0) metrics.cancelQuiesced(now - cancelledAt);
+            quiescent.complete(null);
+        }
+
+        // 요청량만큼 전달, 모든 호스트가 끝나고 버퍼가 비면 onComplete (wip로 한 스레드만 진입)
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                Flow.Subscriber<? super ScanResult> s = subscriber;
+                if (s != null && !terminated) {
+                    if (cancelled) {
+                        buffer.clear();
+                        if (error != null) { terminated = true; s.onError(error); }
+                    } else {
+                        long want = demand.get(), emitted = 0;
+                        ScanResult r;
+                        while (emitted != want && (r = buffer.poll()) != null) {
+                            buffered.decrementAndGet();
+                            s.onNext(r);
+                            emitted++;
+                        }
+                        if (emitted > 0) {
+                            if (want != Long.MAX_VALUE) demand.addAndGet(-emitted);
+                            synchronized (space) { space.notifyAll(); }
+                        }
+                        if (produced && completed.get() == submitted.get() && buffer.isEmpty()) { terminated = true; s.onComplete(); }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    // 단일 IP 스캔 → 카메라 추정 여부 (TCP 연결 1회, 그 위에서 TLS 핸드셰이크)
+    static ScanResult scanOne(int ip, int port) {
+        ProbeOutcome outcome = probeOne(ip, port, null);
+        if (!outcome.isCamera() && outcome != ProbeOutcome.TRUSTED) return null;
+        return new ScanResult(ip, outcome.isCamera(), port, Collections.singletonMap(port, true));
+    }
+
+    // 블로킹 프로브 → NIO 경로와 같은 ProbeOutcome, rtt가 있으면 서브넷별 학습 타임아웃 사용 + 표본 보고
+    static ProbeOutcome probeOne(int ip, int port, RttEstimator rtt) { return probeOne(ip, port, rtt, true); }
+
+    // tls=false: 연결만 확인하고 OPEN (제조사로 이미 카메라인 호스트)
+    static ProbeOutcome probeOne(int ip, int port, RttEstimator rtt, boolean tls) {
+        try {
+            return new BlockingProbe(ip, port).run(rtt, tls);
+        } catch (IOException e) {
+            return ProbeOutcome.CLOSED; // 채널을 열지 못함 (fd 부족 등)
+        }
+    }
+
+    private static void closeQuietly(Closeable c) {
+        try { c.close(); } catch (IOException ignore) { /* ignore */ }
+    }
+}
@@ -0,0 +1,68 @@
+package httpconnector;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 스캔 실행 방식 선택 (-Dscan.mode=nio|pool|virtual, 기본 pool)
+ * - 기본값은 FarmBenchmark에서 nio의 재현율이 pool과 같아질 때까지 pool (nio는 selector 스레드 하나가 TLS 연산을 모두 맡아 1코어에서 핸드셰이크 타임아웃이 더 많음)
+ * - nio     : NioConnectEngine (selector 루프에서 TCP+TLS)
+ * - pool    : 블로킹 scanOne을 고정 스레드 풀(THREADS)에서 실행 — 풀은 스캔 간 재사용
+ * - virtual : 블로킹 scanOne을 대상당 가상 스레드로 실행, 동시 실행 수는 -Dscan.concurrency로 제한
+ *   가상 스레드는 JDK 21+에서만 사용 가능 → 리플렉션으로 조회하고, 없으면 pool로 대체
+ */
+final class ScanExecutors {
+    enum Mode { NIO, POOL, VIRTUAL }
+
+    static final int VIRTUAL_CONCURRENCY = Math.max(1, Integer.getInteger("scan.concurrency", 10_000));
+
+    private static ExecutorService sharedPool;
+
+    private ScanExecutors() {}
+
+    static Mode configuredMode() {
+        String v = System.getProperty("scan.mode", "pool").trim().toUpperCase(Locale.ROOT);
+        try {
+            Mode mode = Mode.valueOf(v);
+            if (mode == Mode.VIRTUAL && !virtualThreadsAvailable()) {
+                System.err.println("Virtual threads unavailable on this JDK, falling back to pool mode");
+                return Mode.POOL;
+            }
+            return mode;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown scan.mode '" + v + "', using pool");
+            return Mode.POOL;
+        }
+    }
+
+    /** 고정 크기 데몬 스레드 풀 (스캔마다 만들지 않고 공유) */
+    static synchronized ExecutorService sharedPool(int threads) {
+        if (sharedPool == null) {
+            sharedPool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "scan-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return sharedPool;
+    }
+
+    static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /** 작업마다 새 가상 스레드를 만드는 executor (ScanEngine이 엔진 수명 동안 쓰고 close()에서 shutdownNow) */
+    static ExecutorService newVirtualPerTask() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual threads unavailable", e);
+        }
+    }
+}
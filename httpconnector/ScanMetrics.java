@@ -0,0 +1,101 @@
+package httpconnector;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스캔 단계별 지표 (엔진마다 하나, 잠금 없음)
+ * - 지연 히스토그램: TCP 연결(SYN-ACK/RST까지), TLS 핸드셰이크(판정까지), 호스트 판정(첫 프로브 ~ 마지막 포트)
+ * - 카운터: 포트 결과(ProbeOutcome)별, 게이지: 진행 중인 포트/호스트 수
+ * - 스캔 취소 ~ 모든 프로브 정지까지 걸린 시간
+ * - 상태바 요약(summary)과 JMX(httpconnector:type=ScanMetrics,id=N)로 노출 — jconsole/VisualVM에서 현장별 확인
+ */
+final class ScanMetrics implements ScanMetricsMBean {
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    final LatencyHistogram connect = new LatencyHistogram(), handshake = new LatencyHistogram(), classify = new LatencyHistogram();
+    final LatencyHistogram quiesce = new LatencyHistogram();
+    private final LongAdder[] outcomes = new LongAdder[ProbeOutcome.values().length];
+    private final AtomicInteger portsInFlight = new AtomicInteger(), hostsInFlight = new AtomicInteger();
+    private ObjectName name;
+
+    ScanMetrics() {
+        for (int i = 0; i < outcomes.length; i++) outcomes[i] = new LongAdder();
+    }
+
+    void portStarted() { portsInFlight.incrementAndGet(); }
+
+    void portFinished(ProbeOutcome outcome) {
+        portsInFlight.decrementAndGet();
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    void hostStarted() { hostsInFlight.incrementAndGet(); }
+
+    void hostFinished(long nanos) {
+        hostsInFlight.decrementAndGet();
+        classify.record(nanos);
+    }
+
+    void cancelQuiesced(long nanos) { quiesce.record(nanos); }
+
+    long count(ProbeOutcome o) { return outcomes[o.ordinal()].sum(); }
+
+    /** 상태바 표시용: "연결 p50 0.4ms · TLS p50 12ms/p99 80ms · 진행 128포트 · 열림 40 닫힘 200 타임아웃 10 리셋 1" */
+    String summary() {
+        return String.format("연결 p50 %.1fms · TLS p50 %.0fms/p99 %.0fms · 진행 %d포트 · 열림 %d 닫힘 %d 타임아웃 %d 리셋 %d",
+                getConnectP50Ms(), getHandshakeP50Ms(), getHandshakeP99Ms(), portsInFlight.get(),
+                getOpen(), getClosed(), getTimeouts() + getHandshakeTimeouts(), getResets());
+    }
+
+    /** 플랫폼 MBean 서버에 등록 (실패해도 스캔에는 영향 없음) */
+    void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            name = new ObjectName("httpconnector:type=ScanMetrics,id=" + IDS.incrementAndGet());
+            server.registerMBean(this, name);
+        } catch (JMException | RuntimeException e) {
+            System.err.println("JMX registration failed: " + e.getMessage());
+            name = null;
+        }
+    }
+
+    void unregister() {
+        if (name == null) return;
+        try { ManagementFactory.getPlatformMBeanServer().unregisterMBean(name); }
+        catch (JMException ignore) { /* 이미 해제 */ }
+        name = null;
+    }
+
+    @Override public double getConnectP50Ms() { return connect.percentileNanos(50) / 1e6; }
+    @Override public double getConnectP99Ms() { return connect.percentileNanos(99) / 1e6; }
+    @Override public double getHandshakeP50Ms() { return handshake.percentileNanos(50) / 1e6; }
+    @Override public double getHandshakeP99Ms() { return handshake.percentileNanos(99) / 1e6; }
+    @Override public double getClassifyP50Ms() { return classify.percentileNanos(50) / 1e6; }
+    @Override public double getClassifyP99Ms() { return classify.percentileNanos(99) / 1e6; }
+    @Override public double getCancelQuiesceP50Ms() { return quiesce.percentileNanos(50) / 1e6; }
+    @Override public double getCancelQuiesceMaxMs() { return quiesce.maxNanos() / 1e6; }
+
+    @Override public long getProbes() { long n = 0; for (LongAdder a : outcomes) n += a.sum(); return n; }
+    @Override public long getOpen() { long n = 0; for (ProbeOutcome o : ProbeOutcome.values()) if (o.isOpen()) n += count(o); return n; }
+    @Override public long getClosed() { return count(ProbeOutcome.CLOSED); }
+    @Override public long getTimeouts() { return count(ProbeOutcome.TIMEOUT); }
+    @Override public long getResets() { return count(ProbeOutcome.RESET); }
+    @Override public long getHandshakeTimeouts() { return count(ProbeOutcome.HANDSHAKE_TIMEOUT); }
+    @Override public long getCameras() { long n = 0; for (ProbeOutcome o : ProbeOutcome.values()) if (o.isCamera()) n += count(o); return n; }
+    @Override public long getCancelled() { return count(ProbeOutcome.CANCELLED); }
+
+    @Override public int getPortsInFlight() { return portsInFlight.get(); }
+    @Override public int getHostsInFlight() { return hostsInFlight.get(); }
+
+    /** 누적값 초기화 (게이지는 그대로) */
+    @Override
+    public void reset() {
+        connect.reset(); handshake.reset(); classify.reset(); quiesce.reset();
+        for (LongAdder a : outcomes) a.reset();
+    }
+}
@@ -0,0 +1,30 @@
+package httpconnector;
+
+/**
+ * JMX 노출용 인터페이스 (표준 MBean 규칙상 public) — 값은 ScanEngine 수명 동안 누적
+ * - 지연: 밀리초, 백분위는 버킷 상한 (상대 오차 약 3%)
+ */
+public interface ScanMetricsMBean {
+    double getConnectP50Ms();
+    double getConnectP99Ms();
+    double getHandshakeP50Ms();
+    double getHandshakeP99Ms();
+    double getClassifyP50Ms();
+    double getClassifyP99Ms();
+    double getCancelQuiesceP50Ms();
+    double getCancelQuiesceMaxMs();
+
+    long getProbes();
+    long getOpen();
+    long getClosed();
+    long getTimeouts();
+    long getResets();
+    long getHandshakeTimeouts();
+    long getCameras();
+    long getCancelled();
+
+    int getPortsInFlight();
+    int getHostsInFlight();
+
+    void reset();
+}
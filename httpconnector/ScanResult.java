@@ -0,0 +1,19 @@
+package httpconnector;
+
+import java.util.Map;
+
+/** 스캔 결과 1건 (IP는 int, 표시 문자열은 테이블 행에서 지연 생성): 판정에 쓰인 포트와 프로브한 포트별 열림 여부(취소된 포트는 없음), 알려진 MAC(없으면 null) */
+final class ScanResult {
+    final int ip;
+    final boolean isCamera;
+    final int port;
+    final Map<Integer, Boolean> openPorts;
+    final String mac;
+
+    ScanResult(int ip, boolean isCamera, int port, Map<Integer, Boolean> openPorts) { this(ip, isCamera, port, openPorts, null); }
+    ScanResult(int ip, boolean isCamera, int port, Map<Integer, Boolean> openPorts, String mac) {
+        this.ip = ip; this.isCamera = isCamera; this.port = port; this.openPorts = openPorts; this.mac = mac;
+    }
+
+    ScanResult withMac(String mac) { return mac == null ? this : new ScanResult(ip, isCamera, port, openPorts, mac); }
+}
@@ -0,0 +1,114 @@
+package httpconnector;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 스캔 부하 제어: 토큰 버킷(초당 시도 수) + AIMD 동시 실행 창
+ * - 창이 차거나 토큰이 없으면 acquire()가 대기, 프로브 완료 시 release(결과)
+ * - 한 라운드(창 크기만큼 완료)마다 혼잡 여부 판단
+ *   · 혼잡: 연결된 호스트(5개 이상)의 RESET/핸드셰이크 타임아웃 비율 > 10%, 또는 연결 타임아웃 비율이 평소보다 20%p 이상 증가
+ *     (빈 주소의 타임아웃은 평소 비율에 포함되므로 희소한 대역을 혼잡으로 오인하지 않음)
+ *   · 혼잡이면 창·속도 절반, 아니면 첫 혼잡 전까지는 창 2배(slow start), 이후 +ADD_STEP / 속도 +5%
+ * - 최대 속도: -Dscan.rate (기본 5000/s, 0이면 제한 없음)
+ */
+final class ScanScheduler {
+    static final int MIN_WINDOW = 8, ADD_STEP = 16;
+    static final double MIN_RATE = 50;
+    static final double MAX_RATE = Math.max(0, Integer.getInteger("scan.rate", 5000));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final int maxWindow;
+
+    private double window, ssthresh, rate, tokens;
+    private long lastRefill = System.nanoTime();
+    private int inFlight;
+    private int roundDone, roundOpened, roundLossy, roundTimeouts;
+    private double baselineTimeoutRatio = -1;
+
+    ScanScheduler(int maxWindow) {
+        this.maxWindow = Math.max(MIN_WINDOW, maxWindow);
+        this.window = Math.min(this.maxWindow, 64);
+        this.ssthresh = this.maxWindow;
+        this.rate = MAX_RATE;
+        this.tokens = burst();
+    }
+
+    /** 창에 자리가 있고 토큰이 있을 때까지 대기 */
+    void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            for (;;) {
+                if (inFlight >= (int) window) { changed.await(); continue; }
+                if (rate <= 0) break;
+                refill();
+                if (tokens >= 1) { tokens -= 1; break; }
+                changed.awaitNanos((long) ((1 - tokens) / rate * 1e9));
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(ProbeOutcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            roundDone++;
+            switch (outcome) {
+                case TIMEOUT: roundTimeouts++; break;
+                case RESET: case HANDSHAKE_TIMEOUT: roundLossy++; roundOpened++; break;
+                case CLOSED: case OPEN: case CANCELLED: break;
+                default: roundOpened++; break;
+            }
+            if (roundDone >= Math.max(MIN_WINDOW, (int) window)) endRound();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 현재 동시 실행 창 */
+    int window() {
+        lock.lock();
+        try { return (int) window; } finally { lock.unlock(); }
+    }
+
+    /** 상태바 표시용: "동시 128 · 초당 5000" */
+    String summary() {
+        lock.lock();
+        try {
+            return "동시 " + (int) window + (rate > 0 ? " · 초당 " + (int) rate : "");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void endRound() {
+        double timeoutRatio = (double) roundTimeouts / roundDone;
+        boolean lossy = roundOpened >= 5 && (double) roundLossy / roundOpened > 0.10;
+        boolean timeoutSpike = baselineTimeoutRatio >= 0 && timeoutRatio > baselineTimeoutRatio + 0.20;
+        if (lossy || timeoutSpike) {
+            window = Math.max(MIN_WINDOW, window / 2);
+            ssthresh = window;
+            if (rate > 0) rate = Math.max(MIN_RATE, rate / 2);
+        } else {
+            window = Math.min(maxWindow, window < ssthresh ? window * 2 : window + ADD_STEP);
+            if (rate > 0) rate = Math.min(MAX_RATE, rate + MAX_RATE * 0.05);
+        }
+        // 평소 비율은 매 라운드 천천히 따라감 → 빈 대역으로 넘어가 생긴 지속적 변화는 몇 라운드 후 새 기준이 됨
+        baselineTimeoutRatio = baselineTimeoutRatio < 0 ? timeoutRatio : 0.8 * baselineTimeoutRatio + 0.2 * timeoutRatio;
+        roundDone = roundOpened = roundLossy = roundTimeouts = 0;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst(), tokens + (now - lastRefill) / 1e9 * rate);
+        lastRefill = now;
+    }
+
+    // 50ms 분량까지만 몰아서 허용
+    private double burst() { return Math.max(1, rate * 0.05); }
+}
@@ -0,0 +1,319 @@
+package httpconnector;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * 로컬 HTTP 서비스 모드 (대시보드에서 스캔 실행) — JDK 내장 com.sun.net.httpserver, 엔진 1개를 모든 작업이 공유
+ * - 사용: java httpconnector.ScanServer [-port 8470] [-bind 127.0.0.1]
+ * - POST /scans?range=192.168.0&ports=443,8443  → 작업 생성 (202) 또는 같은 작업 재사용 (200)
+ *   GET  /scans                                 → 작업 목록
+ *   GET  /scans/{id}                            → 상태 + 지금까지의 결과
+ *   GET  /scans/{id}/events                     → SSE: 지금까지의 결과를 먼저 보내고 이후 결과를 실시간으로, 끝나면 event: done
+ *   GET  /scans/stream?range=..&ports=..        → 생성(또는 재사용) + SSE를 한 번에 (EventSource는 GET만 가능)
+ *   DELETE /scans/{id}                          → 취소
+ * - 같은 대역/포트(항목 순서 무관)의 작업이 진행 중이면 새로 스캔하지 않고 그 작업에 합류
+ *   끝난 작업은 CACHE_MS(-Dscan.server.cache, 기본 60초) 동안 결과를 그대로 재사용 → 대시보드 폴링이 네트워크를 다시 검사하지 않음
+ * - 동시에 진행하는 작업은 MAX_RUNNING개까지 (초과 시 429), 취소한 작업의 프로브가 남아 있으면 정지한 뒤 새 작업 시작
+ * - 있는 경로에 다른 메서드로 요청하면 405 + Allow 헤더 (POST /scans/stream 등)
+ */
+final class ScanServer {
+    static final long CACHE_MS = Long.getLong("scan.server.cache", 60_000);
+    static final int MAX_RUNNING = 4, MAX_JOBS = 64;
+    static final long HEARTBEAT_MS = 15_000; // SSE 연결 유지 + 끊긴 클라이언트 감지
+
+    /** 스캔 작업 1건 — 결과는 작업에 모아 두고 SSE 클라이언트마다 자기 위치부터 읽어 감 */
+    private final class Job implements Flow.Subscriber<ScanResult> {
+        final int id;
+        final String key, range;
+        final int[] ports;
+        final ScanEngine.Scan scan;
+        final long startedAt = System.currentTimeMillis();
+        private final List<ScanResult> results = new ArrayList<>(); // this로 보호
+        private String state = "running";
+        private long finishedAt;
+
+        Job(int id, String key, String range, int[] ports, ScanEngine.Scan scan) {
+            this.id = id; this.key = key; this.range = range; this.ports = ports; this.scan = scan;
+        }
+
+        // 결과 목록이 작업의 버퍼 (카메라만 쌓이므로 대역 크기와 무관하게 작음) → 제한 없이 요청
+        @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+        @Override public synchronized void onNext(ScanResult r) { results.add(r); notifyAll(); }
+        @Override public void onError(Throwable t) { System.err.println("Job " + id + " failed: " + t); finish("failed"); }
+        @Override public void onComplete() { finish("done"); }
+
+        void cancel() {
+            scan.cancel();
+            finish("cancelled");
+        }
+
+        private void finish(String s) {
+            synchronized (this) {
+                if (!state.equals("running")) return;
+                state = s;
+                finishedAt = System.currentTimeMillis();
+                notifyAll();
+            }
+            if (!s.equals("done")) byKey.remove(key, this); // 취소/실패한 작업은 재사용하지 않음 (done은 reusable()이 기간 판단)
+        }
+
+        synchronized boolean running() { return state.equals("running"); }
+
+        synchronized boolean reusable(long now) { return state.equals("running") || state.equals("done") && now - finishedAt < CACHE_MS; }
+
+        // seen 이후 결과가 생기거나 작업이 끝나거나 timeout까지 대기
+        synchronized List<ScanResult> awaitAfter(int seen, long timeoutMs) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            for (long left; results.size() <= seen && state.equals("running") && (left = deadline - System.currentTimeMillis()) > 0; ) wait(left);
+            return new ArrayList<>(results.subList(seen, results.size()));
+        }
+
+        synchronized String json(boolean withResults) {
+            long end = state.equals("running") ? System.currentTimeMillis() : finishedAt;
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("{\"id\":").append(id).append(",\"range\":").append(ScanCli.quote(range))
+              .append(",\"ports\":").append(Arrays.toString(ports).replace(" ", ""))
+              .append(",\"state\":\"").append(state).append('"')
+              .append(",\"total\":").append(scan.total()).append(",\"completed\":").append(scan.completedHosts())
+              .append(",\"hits\":").append(results.size()).append(",\"elapsedMs\":").append(end - startedAt);
+            if (withResults) {
+                StringJoiner list = new StringJoiner(",", ",\"results\":[", "]");
+                for (ScanResult r : results) list.add(ScanCli.json(r));
+                sb.append(list);
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+    private final ScanEngine engine;
+    private final Map<String, Job> byKey = new ConcurrentHashMap<>(); // 진행 중이거나 캐시 기간 안의 작업
+    private final Map<Integer, Job> jobs = new LinkedHashMap<>(); // 생성 순서, this로 보호
+    private int nextId = 1;
+
+    private ScanServer(ScanEngine engine) { this.engine = engine; }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8470;
+        String bind = "127.0.0.1";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-port": port = Integer.parseInt(args[++i]); break;
+                    case "-bind": bind = args[++i]; break;
+                    default: throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e.getMessage() == null ? "인자 오류" : e.getMessage());
+            System.err.println("사용: java httpconnector.ScanServer [-port 8470] [-bind 127.0.0.1]");
+            System.exit(2);
+            return;
+        }
+        ScanServer server = new ScanServer(new ScanEngine(ScanExecutors.configuredMode(), NeighborTable.system()));
+        HttpServer http = HttpServer.create(new InetSocketAddress(bind, port), 0);
+        http.createContext("/scans", server::handle);
+        http.setExecutor(Executors.newCachedThreadPool()); // SSE 연결마다 스레드 1개 점유
+        http.start();
+        System.err.println("Scan server listening on http://" + bind + ":" + http.getAddress().getPort() + "/scans");
+    }
+
+    private void handle(HttpExchange h) throws IOException {
+        try {
+            String method = h.getRequestMethod();
+            String[] path = h.getRequestURI().getPath().replaceAll("/+$", "").split("/"); // ["", "scans", id, "events"]
+            Map<String, String> query = query(h.getRequestURI().getRawQuery());
+            if (path.length < 2 || !path[1].equals("scans")) {
+                send(h, 404, error("없는 경로"));
+                return;
+            }
+            String allow; // 경로는 있지만 메서드가 다르면 405 + Allow
+            if (path.length == 2) {
+                if (method.equals("POST")) { create(h, query); return; }
+                if (method.equals("GET")) { send(h, 200, list()); return; }
+                allow = "GET, POST";
+            } else if (path.length == 3 && path[2].equals("stream")) {
+                if (method.equals("GET")) {
+                    Job job = submit(h, query);
+                    if (job != null) stream(h, job);
+                    return;
+                }
+                allow = "GET";
+            } else if (path.length == 3 || path.length == 4 && path[3].equals("events")) {
+                allow = path.length == 3 ? "GET, DELETE" : "GET";
+                if (method.equals("GET") || path.length == 3 && method.equals("DELETE")) {
+                    Job job = find(path[2]);
+                    if (job == null) { send(h, 404, error("작업이 없습니다: " + path[2])); return; }
+                    if (path.length == 4) { stream(h, job); return; }
+                    if (method.equals("GET")) { send(h, 200, job.json(true)); return; }
+                    job.cancel(); send(h, 200, job.json(false)); return;
+                }
+            } else {
+                send(h, 404, error("없는 경로"));
+                return;
+            }
+            h.getResponseHeaders().set("Allow", allow);
+            send(h, 405, error("허용되지 않는 메서드: " + method));
+        } catch (RuntimeException e) {
+            send(h, 500, error(String.valueOf(e)));
+        } finally {
+            h.close();
+        }
+    }
+
+    private void create(HttpExchange h, Map<String, String> query) throws IOException {
+        boolean[] created = new boolean[1];
+        Job job = submit(h, query, created);
+        if (job != null) send(h, created[0] ? 202 : 200, job.json(false));
+    }
+
+    private Job submit(HttpExchange h, Map<String, String> query) throws IOException { return submit(h, query, new boolean[1]); }
+
+    // 같은 작업이 진행 중이거나 캐시 기간 안이면 재사용, 아니면 새 스캔 시작. 요청 오류면 응답을 보내고 null
+    private Job submit(HttpExchange h, Map<String, String> query, boolean[] created) throws IOException {
+        String range = query.get("range");
+        TargetRange targets;
+        int[] ports;
+        try {
+            if (range == null || range.isBlank()) throw new IllegalArgumentException("range를 지정하세요");
+            targets = RangeParser.parse(range);
+            String p = query.get("ports");
+            ports = p == null || p.isBlank() ? new int[] {443} : ScanCli.parsePorts(p);
+        } catch (IllegalArgumentException e) {
+            send(h, 400, error(e.getMessage()));
+            return null;
+        }
+        String key = key(range, ports);
+        Job job;
+        CompletableFuture<Void> previous;
+        synchronized (this) { // 결정만 잠금 안에서, 응답 전송과 스캔 시작은 잠금 밖에서 (느린 클라이언트가 다른 요청을 막지 않게)
+            long now = System.currentTimeMillis();
+            job = byKey.get(key);
+            if (job != null && job.reusable(now)) return job;
+            int running = 0;
+            for (Job j : jobs.values()) if (j.running()) running++;
+            previous = draining();
+            if (running >= MAX_RUNNING) {
+                job = null;
+            } else {
+                evict(now);
+                job = new Job(nextId++, key, range.trim(), ports, engine.scan(targets, ports, new int[0]));
+                jobs.put(job.id, job);
+                byKey.put(key, job);
+            }
+        }
+        if (job == null) {
+            send(h, 429, error("동시 작업 수 초과 (" + MAX_RUNNING + ")"));
+            return null;
+        }
+        created[0] = true;
+        Job started = job;
+        previous.thenRun(() -> started.scan.subscribe(started));
+        return job;
+    }
+
+    // 취소/실패했지만 프로브가 아직 남은 작업들의 정지 → 새 작업은 이 뒤에 시작 (엔진을 공유하므로 겹치지 않게)
+    private CompletableFuture<Void> draining() {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (Job j : jobs.values()) {
+            if (j.running()) continue;
+            CompletableFuture<Void> q = j.scan.quiescent();
+            if (!q.isDone()) pending.add(q);
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // 캐시 기간이 지난 끝난 작업 정리, 그래도 많으면 오래된 끝난 작업부터 (프로브가 아직 남은 작업은 draining()용으로 남김)
+    private void evict(long now) {
+        for (Iterator<Job> it = jobs.values().iterator(); it.hasNext(); ) {
+            Job j = it.next();
+            if (!j.running() && !j.scan.quiescent().isDone()) continue;
+            if (!j.reusable(now) || jobs.size() >= MAX_JOBS && !j.running()) { it.remove(); byKey.remove(j.key, j); }
+        }
+    }
+
+    private synchronized Job find(String id) {
+        try { return jobs.get(Integer.parseInt(id)); } catch (NumberFormatException e) { return null; }
+    }
+
+    private synchronized String list() {
+        StringJoiner sj = new StringJoiner(",", "[", "]");
+        for (Job j : jobs.values()) sj.add(j.json(false));
+        return sj.toString();
+    }
+
+    // SSE: event: job(현재 상태) → event: result × N → event: done(최종 상태)
+    private void stream(HttpExchange h, Job job) throws IOException {
+        h.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        h.getResponseHeaders().set("Cache-Control", "no-cache");
+        h.sendResponseHeaders(200, 0);
+        try (OutputStream out = h.getResponseBody()) {
+            event(out, "job", job.json(false));
+            int sent = 0;
+            for (;;) {
+                boolean running = job.running(); // 대기 전에 읽음 → 이후 결과까지 모두 보낸 뒤 done
+                List<ScanResult> batch = job.awaitAfter(sent, HEARTBEAT_MS);
+                for (ScanResult r : batch) event(out, "result", ScanCli.json(r));
+                sent += batch.size();
+                if (!running && batch.isEmpty()) { event(out, "done", job.json(false)); return; }
+                if (batch.isEmpty()) out.write(": keepalive\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊음 → 작업은 계속 (다른 구독자/캐시용)
+        }
+    }
+
+    private static void event(OutputStream out, String name, String data) throws IOException {
+        out.write(("event: " + name + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange h, int status, String json) throws IOException {
+        byte[] body = (json + "\n").getBytes(StandardCharsets.UTF_8);
+        h.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        h.sendResponseHeaders(status, body.length);
+        try (OutputStream out = h.getResponseBody()) { out.write(body); }
+    }
+
+    private static String error(String message) { return "{\"error\":" + ScanCli.quote(message) + "}"; }
+
+    // "10.0.0.1-5, 192.168.0" 과 "192.168.0,10.0.0.1-5" 는 같은 작업
+    private static String key(String range, int[] ports) {
+        String[] terms = range.replaceAll("\\s+", "").split(",");
+        Arrays.sort(terms);
+        int[] sorted = ports.clone();
+        Arrays.sort(sorted);
+        return String.join(",", terms) + "|" + Arrays.toString(sorted);
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> q = new HashMap<>();
+        if (raw == null) return q;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            q.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return q;
+    }
+}
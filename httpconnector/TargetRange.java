@@ -0,0 +1,213 @@
+package httpconnector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 스캔 대상 집합 (RangeParser 결과)
+ * - 포함 블록들의 합집합 − 제외 블록들, 입력 순서대로 지연 생성 (목록을 만들지 않음 → /8도 상수 메모리)
+ * - 여러 블록이 겹치면 먼저 나온 블록에서만 생성 (중복 없음)
+ * - size(): 블록을 옥텟별 상자로 바꿔 계산 (순회 없음 → 여러 /8을 합쳐도 즉시)
+ */
+final class TargetRange implements Iterable<Integer> {
+
+    /** 주소 블록: 연속 구간(CIDR) 또는 옥텟별 범위의 곱(a.b.1-3.*) */
+    abstract static class Block {
+        abstract boolean contains(int ip);
+        abstract long count();
+        abstract PrimitiveIterator.OfInt iterator();
+        /** 옥텟별 범위의 곱(상자) {lo[4], hi[4]}로 분해 */
+        abstract void boxes(List<int[][]> out);
+    }
+
+    static final class Span extends Block {
+        final long lo, hi; // 부호 없는 값, 양끝 포함
+        Span(long lo, long hi) { this.lo = lo; this.hi = hi; }
+        @Override boolean contains(int ip) { long v = ip & 0xFFFFFFFFL; return v >= lo && v <= hi; }
+        @Override long count() { return hi - lo + 1; }
+        @Override PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                long next = lo;
+                @Override public boolean hasNext() { return next <= hi; }
+                @Override public int nextInt() { if (next > hi) throw new NoSuchElementException(); return (int) next++; }
+            };
+        }
+        @Override void boxes(List<int[][]> out) { spanBoxes(lo, hi, 0, new int[4], new int[4], out); }
+
+        // [lo, hi] (dim 이하 옥텟 공간) → 앞/뒤 부분 구간 + 가운데 꽉 찬 상자, 옥텟마다 최대 3개
+        private static void spanBoxes(long lo, long hi, int dim, int[] bl, int[] bh, List<int[][]> out) {
+            if (dim == 4) { out.add(new int[][] {bl.clone(), bh.clone()}); return; }
+            int shift = 8 * (3 - dim);
+            long last = (1L << shift) - 1;
+            int a = (int) (lo >>> shift), b = (int) (hi >>> shift);
+            long loRest = lo & last, hiRest = hi & last;
+            if (a == b) { bl[dim] = bh[dim] = a; spanBoxes(loRest, hiRest, dim + 1, bl, bh, out); return; }
+            int from = a, to = b;
+            if (loRest != 0) { bl[dim] = bh[dim] = a; spanBoxes(loRest, last, dim + 1, bl, bh, out); from++; }
+            if (hiRest != last) { bl[dim] = bh[dim] = b; spanBoxes(0, hiRest, dim + 1, bl, bh, out); to--; }
+            if (from > to) return;
+            bl[dim] = from; bh[dim] = to;
+            for (int i = dim + 1; i < 4; i++) { bl[i] = 0; bh[i] = 255; }
+            out.add(new int[][] {bl.clone(), bh.clone()});
+        }
+    }
+
+    static final class Octets extends Block {
+        final int[] lo, hi; // 옥텟별 [lo, hi]
+        Octets(int[] lo, int[] hi) { this.lo = lo; this.hi = hi; }
+        @Override boolean contains(int ip) {
+            for (int i = 0; i < 4; i++) {
+                int o = (ip >>> (24 - 8 * i)) & 0xFF;
+                if (o < lo[i] || o > hi[i]) return false;
+            }
+            return true;
+        }
+        @Override long count() { long c = 1; for (int i = 0; i < 4; i++) c *= hi[i] - lo[i] + 1; return c; }
+        @Override PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                final int[] cur = lo.clone(); boolean more = true;
+                @Override public boolean hasNext() { return more; }
+                @Override public int nextInt() {
+                    if (!more) throw new NoSuchElementException();
+                    int ip = (cur[0] << 24) | (cur[1] << 16) | (cur[2] << 8) | cur[3];
+                    int i = 3; // 오도미터: 마지막 옥텟부터 증가
+                    while (i >= 0 && cur[i] == hi[i]) { cur[i] = lo[i]; i--; }
+                    if (i < 0) more = false; else cur[i]++;
+                    return ip;
+                }
+            };
+        }
+        @Override void boxes(List<int[][]> out) { out.add(new int[][] {lo.clone(), hi.clone()}); }
+    }
+
+    private final Block[] includes;
+    private final Block[] excludes;
+    private long size = -1;
+
+    TargetRange(List<Block> includes, List<Block> excludes) {
+        this.includes = includes.toArray(new Block[0]);
+        this.excludes = excludes.toArray(new Block[0]);
+    }
+
+    /** 대상 수 (단일 블록이면 count(), 아니면 상자 계산 — 순회하지 않음) */
+    long size() {
+        if (size < 0) {
+            if (includes.length == 1 && excludes.length == 0) size = includes[0].count();
+            else size = count(boxes(includes), boxes(excludes), 0);
+        }
+        return size;
+    }
+
+    private static List<int[][]> boxes(Block[] blocks) {
+        List<int[][]> out = new ArrayList<>();
+        for (Block b : blocks) b.boxes(out);
+        return out;
+    }
+
+    // 포함 상자 합집합 − 제외 상자: 옥텟 축(dim)을 상자 경계로 잘라 구간마다 걸친 상자만으로 다음 옥텟을 재귀 계산
+    private static long count(List<int[][]> inc, List<int[][]> exc, int dim) {
+        if (inc.isEmpty()) return 0;
+        if (dim == 4) return exc.isEmpty() ? 1 : 0;
+        if (exc.isEmpty() && inc.size() == 1) {
+            long c = 1;
+            for (int i = dim; i < 4; i++) c *= inc.get(0)[1][i] - inc.get(0)[0][i] + 1;
+            return c;
+        }
+        TreeSet<Integer> cuts = new TreeSet<>();
+        for (List<int[][]> list : Arrays.asList(inc, exc)) {
+            for (int[][] b : list) { cuts.add(b[0][dim]); cuts.add(b[1][dim] + 1); }
+        }
+        long total = 0;
+        Integer from = cuts.first();
+        for (Integer to = cuts.higher(from); to != null; from = to, to = cuts.higher(to)) {
+            List<int[][]> i = active(inc, dim, from), e = active(exc, dim, from);
+            if (!i.isEmpty()) total += (long) (to - from) * count(i, e, dim + 1);
+        }
+        return total;
+    }
+
+    private static List<int[][]> active(List<int[][]> boxes, int dim, int at) {
+        List<int[][]> out = new ArrayList<>();
+        for (int[][] b : boxes) if (b[0][dim] <= at && at <= b[1][dim]) out.add(b);
+        return out;
+    }
+
+    boolean contains(int ip) {
+        for (Block b : excludes) if (b.contains(ip)) return false;
+        for (Block b : includes) if (b.contains(ip)) return true;
+        return false;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            int block = -1;
+            PrimitiveIterator.OfInt cur;
+            int next; boolean ready;
+
+            @Override public boolean hasNext() {
+                while (!ready) {
+                    while (cur == null || !cur.hasNext()) {
+                        if (++block >= includes.length) return false;
+                        cur = includes[block].iterator();
+                    }
+                    int ip = cur.nextInt();
+                    if (!excludedOrSeen(ip, block)) { next = ip; ready = true; }
+                }
+                return true;
+            }
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                return next;
+            }
+        };
+    }
+
+    /** first 중 대상에 속하는 주소를 먼저(주어진 순서), 이어서 나머지 대상을 원래 순서로 (중복 없음) */
+    PrimitiveIterator.OfInt iterator(int[] first) {
+        int[] lead = Arrays.stream(first).filter(this::contains).distinct().toArray();
+        if (lead.length == 0) return iterator();
+        int[] skip = lead.clone();
+        Arrays.sort(skip);
+        PrimitiveIterator.OfInt rest = iterator();
+        return new PrimitiveIterator.OfInt() {
+            int i, next; boolean ready;
+            @Override public boolean hasNext() {
+                if (ready) return true;
+                if (i < lead.length) { next = lead[i++]; return ready = true; }
+                while (rest.hasNext()) {
+                    int ip = rest.nextInt();
+                    if (Arrays.binarySearch(skip, ip) < 0) { next = ip; return ready = true; }
+                }
+                return false;
+            }
+            @Override public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                return next;
+            }
+        };
+    }
+
+    private boolean excludedOrSeen(int ip, int block) {
+        for (Block b : excludes) if (b.contains(ip)) return true;
+        for (int i = 0; i < block; i++) if (includes[i].contains(ip)) return true;
+        return false;
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    IntStream stream() { return StreamSupport.intStream(spliterator(), false); }
+}
@@ -0,0 +1,77 @@
+package httpconnector;
+
+import java.util.Arrays;
+
+/**
+ * 해시 타이밍 휠 (Varghese & Lauck): 많은 개별 타이머를 O(1)로 등록/만료
+ * - 슬롯 수는 2의 거듭제곱, 한 바퀴(slots × tickMs)보다 긴 지연은 남은 바퀴 수로 표현
+ * - 항목은 (key, aux) 두 int — 객체 할당 없이 슬롯별 배열에 보관
+ * - 한 스레드에서만 사용 (감시 스레드)
+ */
+final class TimingWheel {
+    interface Expired { void run(int key, int aux); }
+
+    private final long tickMs;
+    private final int mask;
+    private final int[][] keys, auxes, rounds;
+    private final int[] counts;
+    private long cursorTick; // 다음에 처리할 틱 번호 (항상 현재 틱 + 1) → 만료는 지연보다 늦게, 최대 1틱 차이
+    private int size;
+
+    TimingWheel(int slots, long tickMs, long nowMs) {
+        if (Integer.bitCount(slots) != 1) throw new IllegalArgumentException("slots must be a power of two");
+        this.tickMs = tickMs;
+        this.mask = slots - 1;
+        this.keys = new int[slots][];
+        this.auxes = new int[slots][];
+        this.rounds = new int[slots][];
+        this.counts = new int[slots];
+        this.cursorTick = nowMs / tickMs + 1; // 현재 틱은 이미 지난 것으로 취급
+    }
+
+    /** delayMs 뒤(틱 단위로 올림) 만료 */
+    void schedule(int key, int aux, long delayMs) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        int slot = (int) ((cursorTick + ticks - 1) & mask);
+        int n = counts[slot];
+        if (keys[slot] == null) { keys[slot] = new int[4]; auxes[slot] = new int[4]; rounds[slot] = new int[4]; }
+        else if (n == keys[slot].length) {
+            keys[slot] = Arrays.copyOf(keys[slot], n * 2);
+            auxes[slot] = Arrays.copyOf(auxes[slot], n * 2);
+            rounds[slot] = Arrays.copyOf(rounds[slot], n * 2);
+        }
+        keys[slot][n] = key;
+        auxes[slot][n] = aux;
+        rounds[slot][n] = (int) ((ticks - 1) >>> Integer.numberOfTrailingZeros(mask + 1));
+        counts[slot] = n + 1;
+        size++;
+    }
+
+    /** nowMs까지 지난 틱을 처리하고 만료된 항목마다 콜백 (콜백 안에서 schedule 가능), 처리한 만료 수 반환 */
+    int advance(long nowMs, Expired expired) {
+        int fired = 0;
+        for (long until = nowMs / tickMs; cursorTick <= until; ) {
+            int slot = (int) (cursorTick++ & mask); // 콜백에서 등록하는 항목은 다음 틱부터
+            int n = counts[slot];
+            if (n == 0) continue;
+            int[] k = keys[slot], a = auxes[slot], r = rounds[slot];
+            // 슬롯을 먼저 비우고 남을 항목만 다시 채움 → 콜백이 같은 슬롯에 다시 등록해도 안전
+            int[] dueKeys = null, dueAux = null; int due = 0, kept = 0;
+            for (int i = 0; i < n; i++) {
+                if (r[i] > 0) { k[kept] = k[i]; a[kept] = a[i]; r[kept] = r[i] - 1; kept++; continue; }
+                if (dueKeys == null) { dueKeys = new int[n - i]; dueAux = new int[n - i]; }
+                dueKeys[due] = k[i]; dueAux[due] = a[i]; due++;
+            }
+            counts[slot] = kept;
+            size -= due;
+            for (int i = 0; i < due; i++) expired.run(dueKeys[i], dueAux[i]);
+            fired += due;
+        }
+        return fired;
+    }
+
+    /** 다음 틱 시각 (감시 스레드 대기용) */
+    long nextTickMs() { return cursorTick * tickMs; }
+
+    int size() { return size; }
+}
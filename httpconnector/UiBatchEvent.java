@@ -0,0 +1,22 @@
+package httpconnector;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 이벤트: EDT에서 한 프레임 분량의 결과를 테이블/저장소에 반영한 구간 (ScanWorker.applyFrame)
+ * - 프로브 이벤트와 같은 녹화에서 EDT 작업이 병목인지 확인용
+ */
+@Name("httpconnector.UiBatchApply")
+@Label("UI Batch Apply")
+@Category({"Device Connector", "UI"})
+@Description("Results applied to the table model in one EDT frame")
+@StackTrace(false)
+final class UiBatchEvent extends Event {
+    @Label("Results") int results;
+    @Label("Table Rows") int tableRows;
+}
@@ -0,0 +1,191 @@
+package httpconnector;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 감시 모드: 스캔한 대역을 계속 재검사해 카메라의 온라인/오프라인 전환과 새 카메라를 알림
+ * - 장비별 다음 검사 시각은 TimingWheel에 등록 (틱 100ms × 512슬롯), 처음 등록할 때 간격 안에서 무작위로 흩음
+ *   → 주기적인 전체 스캔 대신 일정한 속도로 조금씩 검사
+ * - 알려진 카메라: CAMERA_INTERVAL_MS(-Dscan.watch.interval, 기본 5초)마다 판정 포트에 TCP 연결만 (열림 = 온라인)
+ *   연속 DOWN_AFTER회 응답이 없으면 오프라인, 한 번이라도 열리면 온라인
+ * - 빈 주소: TLS까지 전체 프로브, 간격은 EMPTY_MIN_MS부터 찾지 못할 때마다 2배 (최대 EMPTY_MAX_MS)
+ *   대역이 MAX_EMPTY 이하일 때만 감시, 방금 스캔했으므로 첫 검사는 EMPTY_MIN_MS 뒤부터 초당 EMPTY_RATE개 꼴로 흩음
+ *   (/16이면 약 11분에 걸쳐, 간격이 늘어도 흩어진 순서는 유지됨)
+ * - 프로브는 스캔과 같은 ScanEngine으로 (실행 방식·RTT 학습 공유), 포트마다 감시 전용 ScanScheduler를 거침
+ *   → 속도 제한(-Dscan.rate)·AIMD 창(최대 MAX_IN_FLIGHT) 적용
+ * - 프로브 결과는 엔진 스레드에서 큐로 넘기고, 상태/휠은 감시 스레드 하나만 다룸 (Listener도 감시 스레드에서 호출)
+ * - close(): 진행 중인 프로브 future를 모두 취소, quiescent()는 엔진이 그 프로브들의 포트를 실제로 모두 끝내면 완료
+ *   (다음 스캔은 이 뒤에)
+ */
+final class WatchMonitor implements Closeable {
+    static final long TICK_MS = 100;
+    static final int SLOTS = 512;
+    static final long CAMERA_INTERVAL_MS = Long.getLong("scan.watch.interval", 5000);
+    static final long EMPTY_MIN_MS = 30_000, EMPTY_MAX_MS = 15 * 60_000;
+    static final int DOWN_AFTER = 2, MAX_EMPTY = 65536, MAX_IN_FLIGHT = 256;
+    static final int EMPTY_RATE = Math.max(1, Integer.getInteger("scan.watch.emptyRate", 100));
+    private static final int CAMERA = -1; // 휠 aux: 카메라, 0 이상은 빈 주소의 백오프 단계
+
+    interface Listener {
+        /** 빈 주소에서 새 카메라 발견 */
+        void found(ScanResult r);
+        /** 알려진 카메라의 온라인/오프라인 전환 */
+        void changed(int ip, boolean up);
+    }
+
+    private static final class Camera {
+        final int port;
+        boolean up = true;
+        int misses;
+        Camera(int port) { this.port = port; }
+    }
+
+    // 엔진 스레드 → 감시 스레드
+    private static final class Done {
+        final int ip, aux;
+        final ProbeOutcome outcome;
+        final ScanResult found;
+        Done(int ip, int aux, ProbeOutcome outcome, ScanResult found) { this.ip = ip; this.aux = aux; this.outcome = outcome; this.found = found; }
+    }
+
+    private final int[] ports;
+    private final Listener listener;
+    private final ScanEngine engine;
+    private final ScanScheduler scheduler = new ScanScheduler(MAX_IN_FLIGHT);
+    private final AtomicInteger pending = new AtomicInteger(); // 제출했고 엔진이 아직 drained를 부르지 않은 프로브
+    private final TimingWheel wheel;
+    private final Map<Integer, Camera> cameras = new HashMap<>();
+    private final ConcurrentLinkedQueue<Done> completions = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<?>> outstanding = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<Void> quiescent = new CompletableFuture<>();
+    private final AtomicLong probes = new AtomicLong();
+    private final long startedAt = System.currentTimeMillis();
+    private final Thread thread;
+    private volatile boolean closed, cancelled; // cancelled: close()가 outstanding을 모두 취소함
+    private volatile int up, down;
+
+    /** cameraIps/cameraPorts: 이미 알려진 카메라와 판정 포트 */
+    WatchMonitor(TargetRange targets, int[] cameraIps, int[] cameraPorts, int[] ports, ScanEngine engine, Listener listener) {
+        this.ports = ports;
+        this.listener = listener;
+        this.engine = engine;
+        this.wheel = new TimingWheel(SLOTS, TICK_MS, startedAt);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < cameraIps.length; i++) {
+            cameras.put(cameraIps[i], new Camera(cameraPorts[i]));
+            wheel.schedule(cameraIps[i], CAMERA, random.nextLong(CAMERA_INTERVAL_MS));
+        }
+        up = cameras.size();
+        long size = targets.size();
+        if (size <= MAX_EMPTY) {
+            long spread = Math.min(EMPTY_MAX_MS - EMPTY_MIN_MS, Math.max(EMPTY_MIN_MS, size * 1000 / EMPTY_RATE));
+            for (PrimitiveIterator.OfInt it = targets.iterator(); it.hasNext(); ) {
+                int ip = it.nextInt();
+                if (!cameras.containsKey(ip)) wheel.schedule(ip, 0, EMPTY_MIN_MS + random.nextLong(spread));
+            }
+        }
+        this.thread = new Thread(this::run, "scan-watch");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** 상태바 표시용: "감시 중 · 카메라 12 (오프라인 1) · 초당 3.1회 검사" */
+    String summary() {
+        double seconds = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+        return String.format("감시 중 · 카메라 %d (오프라인 %d) · 초당 %.1f회 검사", up + down, down, probes.get() / seconds);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        try { thread.join(1000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        for (CompletableFuture<?> f : outstanding) f.cancel(true); // 엔진이 진행 중인 포트 채널을 닫음
+        cancelled = true;
+        if (pending.get() == 0) quiescent.complete(null);
+    }
+
+    /** close() 뒤 엔진이 진행 중이던 프로브의 포트를 모두 끝내면 완료 */
+    CompletableFuture<Void> quiescent() { return quiescent.copy(); }
+
+    private void run() {
+        try {
+            while (!closed) {
+                for (Done d; (d = completions.poll()) != null; ) completed(d);
+                wheel.advance(System.currentTimeMillis(), this::probe);
+                long sleep = wheel.nextTickMs() - System.currentTimeMillis();
+                if (sleep > 0) Thread.sleep(sleep);
+            }
+        } catch (InterruptedException e) {
+            // close()
+        }
+    }
+
+    // 휠에서 만료된 항목 → 프로브 제출 (스케줄러 창/토큰이 없으면 엔진 안에서 대기, close()의 인터럽트로 풀림)
+    private void probe(int ip, int aux) {
+        if (closed) return;
+        probes.incrementAndGet();
+        pending.incrementAndGet();
+        if (aux == CAMERA) {
+            CompletableFuture<ProbeOutcome> f = track(engine.connect(ip, cameras.get(ip).port, scheduler, this::drained));
+            f.whenComplete((outcome, e) -> {
+                outstanding.remove(f);
+                completions.add(new Done(ip, aux, outcome == null ? ProbeOutcome.CANCELLED : outcome, null));
+            });
+            return;
+        }
+        CompletableFuture<ScanResult> f = track(engine.probeHost(ip, ports, scheduler, this::drained));
+        f.whenComplete((found, e) -> {
+            outstanding.remove(f);
+            completions.add(new Done(ip, aux, null, found));
+        });
+    }
+
+    // 제출한 프로브 등록 (close()가 이미 훑었으면 바로 취소)
+    private <T> CompletableFuture<T> track(CompletableFuture<T> f) {
+        outstanding.add(f);
+        if (closed) f.cancel(true);
+        return f;
+    }
+
+    // 엔진 스레드: 프로브의 모든 포트가 끝남 (취소된 future는 여기서야 실제로 끝난 것)
+    private void drained() {
+        if (pending.decrementAndGet() == 0 && cancelled) quiescent.complete(null);
+    }
+
+    // 결과 반영 → 전환 알림 → 다음 검사 예약
+    private void completed(Done d) {
+        if (closed) return;
+        if (d.aux == CAMERA) {
+            Camera cam = cameras.get(d.ip);
+            if (d.outcome == ProbeOutcome.CANCELLED) {
+                // 판정 없음 → 다음 검사만 예약
+            } else if (d.outcome.isOpen()) {
+                cam.misses = 0;
+                if (!cam.up) { cam.up = true; up++; down--; listener.changed(d.ip, true); }
+            } else if (++cam.misses >= DOWN_AFTER && cam.up) {
+                cam.up = false; up--; down++;
+                listener.changed(d.ip, false);
+            }
+            wheel.schedule(d.ip, CAMERA, CAMERA_INTERVAL_MS);
+        } else if (d.found != null) {
+            cameras.put(d.ip, new Camera(d.found.port));
+            up++;
+            listener.found(d.found);
+            wheel.schedule(d.ip, CAMERA, CAMERA_INTERVAL_MS);
+        } else {
+            int level = Math.min(d.aux + 1, 30);
+            wheel.schedule(d.ip, level, Math.min(EMPTY_MAX_MS, EMPTY_MIN_MS << Math.min(level, 16)));
+        }
+    }
+}
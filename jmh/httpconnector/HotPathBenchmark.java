@@ -0,0 +1,190 @@
+package httpconnector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableRowSorter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핫패스 마이크로벤치마크 (JMH)
+ * - 대상 생성(/24~/8 반복), IP 파싱/포맷, IP 정렬(rowSorter 비교자: 행 키 → int 배열), 테이블 모델 삽입/정렬/필터, 루프백 probeOne
+ * - 루프백 probeOne은 scanOne의 프로브, 판정이 기대와 다르면 중단 (다른 경로를 재고 있는 것)
+ * - op당 할당 바이트는 gc 프로파일러의 gc.alloc.rate.norm
+ * - 사용: gradle jmh --args='HotPath -prof gc'
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+    /** 대상 생성: 지연 반복자로 전체 순회 (op 1회 = 대역 전체) */
+    @State(Scope.Thread)
+    public static class Range {
+        @Param({"10.0.0.0/24", "10.0.0.0/16", "10.0.0.0/8"})
+        public String cidr;
+    }
+
+    /** 10만 행 모델: 정렬용(IP 오름차순)과 필터용 정렬기 */
+    @State(Scope.Thread)
+    public static class Table {
+        HttpConnector_V4.ScanTableModel model;
+        TableRowSorter<HttpConnector_V4.ScanTableModel> sorted, filtered;
+
+        @Setup
+        public void setup() {
+            model = new HttpConnector_V4.ScanTableModel();
+            for (int i = 0; i < 10; i++) model.upsertRows(results(10_000, i * 10_000), false);
+            sorted = new TableRowSorter<>(model);
+            sorted.setComparator(0, model.ipOrder);
+            sorted.setSortKeys(Collections.singletonList(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+            filtered = new TableRowSorter<>(model);
+        }
+    }
+
+    /** 루프백 대역의 닫힌 포트(CLOSED)와 연결 즉시 끊는 리스너(TLS 단계 RESET) */
+    @State(Scope.Benchmark)
+    public static class Loopback {
+        final int ip = Ipv4.parse("127.0.0.1");
+        ServerSocket closing;
+        int closedPort;
+
+        @Setup
+        public void setup() throws IOException {
+            closing = new ServerSocket(0, 1024, InetAddress.getByName("127.0.0.1"));
+            Thread acceptor = new Thread(() -> {
+                try { while (true) { Socket s = closing.accept(); s.close(); } } catch (IOException ignore) { /* closed */ }
+            }, "bench-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            try (ServerSocket probe = new ServerSocket(0)) { closedPort = probe.getLocalPort(); }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException { closing.close(); }
+    }
+
+    private final String[] texts = new String[1024];
+    private final int[] ips = new int[1024];
+    private final char[] buf = new char[15];
+    private final List<ScanResult> results = results(10_000, 0);
+    private HttpConnector_V4.ScanTableModel keyed, fresh;
+    private Object[] shuffled;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < texts.length; i++) { ips[i] = Ipv4.parse("10." + (i >> 8) + "." + (i & 255) + "." + (i * 7 & 255)); texts[i] = Ipv4.format(ips[i]); }
+        // 전 대역에 고르게 흩어진 순서 (음수 = 128.0.0.0 이상) → 모델의 행 키
+        List<ScanResult> scattered = new ArrayList<>(10_000);
+        for (int i = 0; i < 10_000; i++) scattered.add(new ScanResult((int) (i * 2_654_435_761L), true, 443, Collections.singletonMap(443, true)));
+        keyed = new HttpConnector_V4.ScanTableModel();
+        keyed.upsertRows(scattered, false);
+        shuffled = new Object[keyed.getRowCount()];
+        for (int i = 0; i < shuffled.length; i++) shuffled[i] = keyed.getValueAt(i, 0);
+        fresh = new HttpConnector_V4.ScanTableModel();
+    }
+
+    @Benchmark
+    public void rangeIterate(Range r, Blackhole bh) {
+        for (PrimitiveIterator.OfInt it = RangeParser.parse(r.cidr).iterator(); it.hasNext(); ) bh.consume(it.nextInt());
+    }
+
+    @Benchmark
+    public long rangeParse() { return RangeParser.parse("192.168.0.1-200,10.1.2.*,!10.1.2.7").size(); }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void ipv4Parse(Blackhole bh) { for (String s : texts) bh.consume(Ipv4.parse(s)); }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void ipv4FormatChars(Blackhole bh) {
+        for (int ip : ips) { bh.consume(Ipv4.format(ip, buf)); bh.consume(buf); }
+    }
+
+    /** rowSorter가 쓰는 IP 비교자로 1만 개 */
+    @Benchmark
+    public Object[] sortIpOrder10k() {
+        Object[] a = shuffled.clone();
+        Arrays.sort(a, keyed.ipOrder);
+        return a;
+    }
+
+    /** op마다 빈 모델에 1만 건 삽입 */
+    @Benchmark
+    public int modelUpsert10k() {
+        fresh.clear();
+        fresh.upsertRows(results, false);
+        return fresh.getRowCount();
+    }
+
+    @Benchmark
+    public int rowSorterSort100k(Table t) {
+        t.sorted.sort();
+        return t.sorted.getViewRowCount();
+    }
+
+    @Benchmark
+    public int filterText100k(Table t) {
+        t.filtered.setRowFilter(ResultFilter.compile("a7-8b", t.model));
+        return t.filtered.getViewRowCount();
+    }
+
+    @Benchmark
+    public int filterCidr100k(Table t) {
+        t.filtered.setRowFilter(ResultFilter.compile("10.0.128.0/17", t.model));
+        return t.filtered.getViewRowCount();
+    }
+
+    @Benchmark
+    public ProbeOutcome probeOneClosedPort(Loopback l) { return expect(l.ip, l.closedPort, ProbeOutcome.CLOSED); }
+
+    @Benchmark
+    public ProbeOutcome probeOneResetInTls(Loopback l) { return expect(l.ip, l.closing.getLocalPort(), ProbeOutcome.RESET); }
+
+    private static ProbeOutcome expect(int ip, int port, ProbeOutcome expected) {
+        ProbeOutcome outcome = ScanEngine.probeOne(ip, port, null);
+        if (outcome != expected) throw new IllegalStateException(Ipv4.format(ip) + ":" + port + " → " + outcome + " (기대: " + expected + ")");
+        return outcome;
+    }
+
+    static List<ScanResult> results(int n, int offset) {
+        String[] macs = {"6C-1C-71-0C-4A-06", "14-A7-8B-A9-03-02", "00-18-9A-27-A7-E0", null};
+        int base = Ipv4.parse("10.0.0.0") + offset;
+        List<ScanResult> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Map<Integer, Boolean> open = new LinkedHashMap<>();
+            open.put(443, true);
+            if (i % 3 == 0) open.put(8443, true);
+            list.add(new ScanResult(base + i, i % 5 != 0, 443, open, macs[i & 3]));
+        }
+        return list;
+    }
+}
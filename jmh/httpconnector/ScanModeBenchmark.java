@@ -0,0 +1,96 @@
+package httpconnector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 방식별 처리량 비교 (고정 풀 vs 가상 스레드, JMH 1회 실행 시간)
+ * - 127.0.x.y 대상 → 0.0.0.0에 바인드한 "무응답" 리스너: TCP는 열리지만 TLS 응답이 없어
+ *   매 프로브가 HTTPS 타임아웃까지 블로킹 (응답 없는 장비가 많은 현장과 같은 조건)
+ * - op 1회 = 대상 count개 전체, hosts/s = count / 결과 시간
+ * - 사용: gradle jmh --args='ScanMode'   (가상 스레드는 JDK 21+, 17에서는 -p mode=pool)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ScanModeBenchmark {
+    @Param({"pool", "virtual"})
+    public String mode;
+    @Param("200")
+    public int count;
+    @Param("18443")
+    public int port;
+
+    private final List<Socket> held = new ArrayList<>();
+    private ServerSocket silent;
+    private ExecutorService exec;
+    private int limit;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        targets = new int[count];
+        for (int i = 0; i < count; i++) targets[i] = Ipv4.parse("127.0." + (i / 250) + "." + (1 + i % 250));
+        silent = new ServerSocket(port, 8192, InetAddress.getByName("0.0.0.0"));
+        Thread acceptor = new Thread(() -> {
+            try { while (true) { Socket s = silent.accept(); synchronized (held) { held.add(s); } } } catch (IOException ignore) { /* closed */ }
+        }, "bench-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        if (mode.equals("virtual")) {
+            if (!ScanExecutors.virtualThreadsAvailable()) throw new IllegalStateException("가상 스레드는 JDK 21+ 필요 (-p mode=pool)");
+            exec = ScanExecutors.newVirtualPerTask();
+            limit = ScanExecutors.VIRTUAL_CONCURRENCY;
+        } else {
+            exec = Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+            limit = Integer.MAX_VALUE;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        exec.shutdownNow();
+        silent.close();
+        synchronized (held) { for (Socket s : held) s.close(); }
+    }
+
+    @Benchmark
+    public void scan() throws InterruptedException {
+        CountDownLatch remaining = new CountDownLatch(targets.length);
+        Semaphore permits = new Semaphore(limit);
+        for (int ip : targets) {
+            permits.acquire();
+            exec.execute(() -> {
+                try { ScanEngine.scanOne(ip, port); }
+                finally { permits.release(); remaining.countDown(); }
+            });
+        }
+        remaining.await();
+    }
+}
@@ -0,0 +1,85 @@
+package httpconnector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.JTable;
+import javax.swing.table.TableCellRenderer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 테이블 모델의 채우기/렌더링 비용 (JMH, 화면 없이 실행)
+ * - fill: 빈 모델에 N행을 1만 건 묶음으로 upsertRows() → gc.alloc.rate.norm이 op(N행)당 할당량
+ *   열 배열이 차지하는 크기는 측정이 끝나면 행당 바이트로 출력
+ * - render: 화면 한 장(30행 × 4열)씩 전체를 렌더러에 통과 → 셀당 시간/할당량
+ * - 사용: gradle jmh --args='TableFootprint -prof gc'
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TableFootprintBenchmark {
+    static final int SCREEN_ROWS = 30, COLUMNS = 4;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private final List<List<ScanResult>> batches = new ArrayList<>();
+    private HttpConnector_V4.ScanTableModel model;
+    private JTable table;
+    private TableCellRenderer[] renderers;
+    private int top;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int offset = 0; offset < rows; offset += 10_000) batches.add(HotPathBenchmark.results(Math.min(10_000, rows - offset), offset));
+        model = fill();
+        table = new JTable(model);
+        renderers = new TableCellRenderer[] {
+                new HttpConnector_V4.HostRenderer(model), new HttpConnector_V4.StatusPillRenderer(), new HttpConnector_V4.IpRenderer(), new HttpConnector_V4.IpRenderer()
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n# rows=%d arrays=%.1fMB (%.1f B/row)%n", rows, model.arrayBytes() / 1e6, model.arrayBytes() / (double) rows);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HttpConnector_V4.ScanTableModel fill() {
+        HttpConnector_V4.ScanTableModel m = new HttpConnector_V4.ScanTableModel();
+        for (List<ScanResult> batch : batches) m.upsertRows(batch, false);
+        return m;
+    }
+
+    /** op 1회 = 화면 한 장, 결과는 셀당 */
+    @Benchmark
+    @OperationsPerInvocation(SCREEN_ROWS * COLUMNS)
+    public void render(Blackhole bh) {
+        int first = top;
+        top = first + SCREEN_ROWS >= rows ? 0 : first + SCREEN_ROWS;
+        for (int row = first; row < first + SCREEN_ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                bh.consume(renderers[col].getTableCellRendererComponent(table, model.getValueAt(row, col), false, false, row, col));
+            }
+        }
+    }
+}